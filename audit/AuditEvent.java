@@ -0,0 +1,15 @@
+package com.taskmang.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AuditEvent {
+    private final String action;
+    private final String entityType;
+    private final Long entityId;
+    private final String oldValue;
+    private final String newValue;
+    private final String username;
+}
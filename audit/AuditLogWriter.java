@@ -0,0 +1,283 @@
+package com.taskmang.audit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmang.entity.AuditLog;
+import com.taskmang.entity.User;
+import com.taskmang.repository.UserRepository;
+import com.taskmang.util.VirtualThreads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Background writer for audit events. Committed events are queued in a bounded
+ * buffer and inserted in batches, one transaction per batch, off the request path.
+ * When the buffer stays full the caller writes its events itself, which slows
+ * producers down instead of dropping audit records. A batch rejected by a
+ * constraint is split until the offending rows are isolated; other failures
+ * (e.g. the database being unavailable) are retried with backoff.
+ */
+@Component
+public class AuditLogWriter {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    @Value("${app.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.audit.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${app.audit.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.audit.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${app.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private BlockingQueue<AuditEvent> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public AuditLogWriter(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Callers may still be inside a completing transaction (afterCommit), so always start a fresh one
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            worker = VirtualThreads.threadFactory("audit-log-writer-").newThread(this::run);
+        } else {
+            worker = new Thread(this::run, "audit-log-writer");
+            worker.setDaemon(true);
+        }
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Not interrupted: the worker notices within one poll interval, after finishing any batch in flight
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        // Whatever is still buffered is written on the shutdown thread
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            flush(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+        }
+    }
+
+    public void enqueue(Collection<AuditEvent> events) {
+        List<AuditEvent> overflow = null;
+        for (AuditEvent event : events) {
+            boolean accepted = false;
+            // Wait for room only once per call; after a rejection the rest of the batch is written inline
+            if (overflow == null) {
+                try {
+                    accepted = running && queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!accepted) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(event);
+            }
+        }
+        if (overflow != null) {
+            callerRuns.add(overflow.size());
+            flush(overflow);
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            write(batch, true);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushes.increment();
+            totalFlushNanos.add(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private void write(List<AuditEvent> batch, boolean linkUsers) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch, linkUsers);
+                written.add(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (isConstraintViolation(e)) {
+                    isolate(batch, linkUsers, e);
+                    return;
+                }
+                if (attempt > maxRetries || !backOff(attempt)) {
+                    failed.add(batch.size());
+                    logger.error("Failed to write {} audit log entries: {}", batch.size(), e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    private void isolate(List<AuditEvent> batch, boolean linkUsers, RuntimeException e) {
+        if (batch.size() > 1) {
+            // Halve until the failing rows are isolated; the rest still gets written
+            int middle = batch.size() / 2;
+            write(batch.subList(0, middle), linkUsers);
+            write(batch.subList(middle, batch.size()), linkUsers);
+        } else if (linkUsers) {
+            // Most likely the user was deleted after its id was resolved; keep the record unattributed
+            logger.warn("Retrying audit log entry without its user: {}", e.getMessage());
+            write(batch, false);
+        } else {
+            failed.add(batch.size());
+            logger.error("Failed to write audit log entry for {} {}: {}", batch.get(0).getEntityType(),
+                    batch.get(0).getEntityId(), e.getMessage());
+        }
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs << Math.min(attempt - 1, 10));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException || cause instanceof DataIntegrityViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insert(List<AuditEvent> batch, boolean linkUsers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Long> userIds = linkUsers ? resolveUserIds(batch) : Map.of();
+            for (AuditEvent event : batch) {
+                AuditLog auditLog = new AuditLog();
+                auditLog.setAction(event.getAction());
+                auditLog.setEntityType(event.getEntityType());
+                auditLog.setEntityId(event.getEntityId());
+                auditLog.setOldValue(event.getOldValue());
+                auditLog.setNewValue(event.getNewValue());
+                Long userId = userIds.get(event.getUsername());
+                if (userId != null) {
+                    auditLog.setChangedBy(entityManager.getReference(User.class, userId));
+                }
+                entityManager.persist(auditLog);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private Map<String, Long> resolveUserIds(List<AuditEvent> batch) {
+        Set<String> usernames = new HashSet<>();
+        for (AuditEvent event : batch) {
+            if (event.getUsername() != null) {
+                usernames.add(event.getUsername());
+            }
+        }
+        Map<String, Long> userIds = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            for (Object[] row : userRepository.findIdsByUsernameIn(usernames)) {
+                userIds.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return userIds;
+    }
+
+    public Map<String, Object> getMetrics() {
+        long flushCount = flushes.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", queue.size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("written", written.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("callerRuns", callerRuns.sum());
+        metrics.put("flushes", flushCount);
+        metrics.put("avgFlushMillis", flushCount == 0 ? 0.0 : totalFlushNanos.sum() / (double) flushCount / 1_000_000);
+        metrics.put("maxFlushMillis", maxFlushNanos.get() / 1_000_000.0);
+        return metrics;
+    }
+}
@@ -0,0 +1,15 @@
+package com.taskmang.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Fan-out channel used to tell the other nodes of a deployment that something
+ * they may hold in a node-local cache has changed. Messages are never delivered
+ * back to the node that published them; a {@code null} key means the whole
+ * region.
+ */
+public interface CacheInvalidationBus {
+    void publish(String region, Object key);
+
+    void subscribe(String region, Consumer<Object> listener);
+}
@@ -0,0 +1,9 @@
+package com.taskmang.cache;
+
+public final class CacheNames {
+    public static final String USER_IDS = "userIds";
+    public static final String TASK_LISTS = "taskLists";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmang.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process stand-in for a pub/sub invalidation channel. Every instance in
+ * the JVM acts as one node, so several application contexts started side by
+ * side see each other's messages the way separate nodes would.
+ */
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryCacheInvalidationBus.class);
+
+    private static final List<InMemoryCacheInvalidationBus> NODES = new CopyOnWriteArrayList<>();
+
+    private final Map<String, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+
+    public InMemoryCacheInvalidationBus() {
+        NODES.add(this);
+    }
+
+    @Override
+    public void publish(String region, Object key) {
+        for (InMemoryCacheInvalidationBus node : NODES) {
+            if (node != this) {
+                node.deliver(region, key);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String region, Consumer<Object> listener) {
+        listeners.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void close() {
+        NODES.remove(this);
+    }
+
+    private void deliver(String region, Object key) {
+        List<Consumer<Object>> regionListeners = listeners.get(region);
+        if (regionListeners == null) {
+            return;
+        }
+        for (Consumer<Object> listener : regionListeners) {
+            try {
+                listener.accept(key);
+            } catch (RuntimeException e) {
+                logger.warn("Cache invalidation listener for {} failed", region, e);
+            }
+        }
+    }
+}
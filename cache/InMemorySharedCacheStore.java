@@ -0,0 +1,165 @@
+package com.taskmang.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded stand-in for a networked second-level cache, used when no shared
+ * store is deployed. Values are kept serialized so they behave exactly as they
+ * would over the wire: non-serializable values fail here first, and every read
+ * returns a fresh copy. Nodes simulated inside one JVM share this bean.
+ * Each cache is bounded by entry count and by serialized bytes; once full,
+ * new keys are refused until entries expire or are evicted.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySharedCacheStore.class);
+
+    private final Map<String, Region> caches = new ConcurrentHashMap<>();
+    private final int maxEntriesPerCache;
+    private final long maxBytesPerCache;
+    private final int maxEntryBytes;
+
+    public InMemorySharedCacheStore(int maxEntriesPerCache, long maxBytesPerCache, int maxEntryBytes) {
+        this.maxEntriesPerCache = maxEntriesPerCache;
+        this.maxBytesPerCache = maxBytesPerCache;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        Region region = caches.get(cacheName);
+        Entry entry = region == null ? null : region.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            region.remove(key, entry);
+            return null;
+        }
+        return deserialize(entry.bytes);
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value, long ttlMs) {
+        if (ttlMs <= 0 || maxEntriesPerCache <= 0) {
+            return;
+        }
+        byte[] bytes = serialize(cacheName, value);
+        if (bytes == null) {
+            return;
+        }
+        if (bytes.length > maxEntryBytes) {
+            logger.debug("Not caching {} bytes in {}: over the per-entry limit", bytes.length, cacheName);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Region region = caches.computeIfAbsent(cacheName, name -> new Region());
+        if (!region.hasRoom(key, bytes.length)) {
+            region.removeExpired(now);
+            if (!region.hasRoom(key, bytes.length)) {
+                return;
+            }
+        }
+        region.put(key, new Entry(bytes, now + ttlMs));
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        Region region = caches.get(cacheName);
+        if (region != null) {
+            region.remove(key);
+        }
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        caches.remove(cacheName);
+    }
+
+    private static byte[] serialize(String cacheName, Object value) {
+        if (!(value instanceof Serializable)) {
+            logger.warn("Not caching non-serializable {} in {}", value.getClass().getName(), cacheName);
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (NotSerializableException e) {
+            logger.warn("Not caching {} in {}: {} is not serializable", value.getClass().getName(), cacheName, e.getMessage());
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize cache value", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to deserialize cache value", e);
+        }
+    }
+
+    // Byte totals are adjusted after each map update, so concurrent puts may briefly overshoot the limit
+    private final class Region {
+        private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicLong bytes = new AtomicLong();
+
+        boolean hasRoom(Object key, int size) {
+            Entry existing = entries.get(key);
+            if (existing == null && entries.size() >= maxEntriesPerCache) {
+                return false;
+            }
+            long freed = existing == null ? 0 : existing.bytes.length;
+            return bytes.get() - freed + size <= maxBytesPerCache;
+        }
+
+        void put(Object key, Entry entry) {
+            Entry previous = entries.put(key, entry);
+            bytes.addAndGet(entry.bytes.length - (previous == null ? 0 : previous.bytes.length));
+        }
+
+        void remove(Object key) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                bytes.addAndGet(-removed.bytes.length);
+            }
+        }
+
+        void remove(Object key, Entry entry) {
+            if (entries.remove(key, entry)) {
+                bytes.addAndGet(-entry.bytes.length);
+            }
+        }
+
+        void removeExpired(long now) {
+            entries.forEach((key, entry) -> {
+                if (entry.expiresAt <= now) {
+                    remove(key, entry);
+                }
+            });
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] bytes;
+        private final long expiresAt;
+
+        private Entry(byte[] bytes, long expiresAt) {
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
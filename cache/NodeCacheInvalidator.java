@@ -0,0 +1,105 @@
+package com.taskmang.cache;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.taskmang.event.TaskChangedEvent;
+import com.taskmang.search.TaskSearchIndex;
+import com.taskmang.security.PrincipalCache;
+import com.taskmang.security.UserRevocationList;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the node-local caches of every node in step with committed user and
+ * task changes. The per-user task caches are kept current locally from
+ * {@link TaskChangedEvent}s, so other nodes are only told to drop their copy.
+ */
+@Component
+@RequiredArgsConstructor
+public class NodeCacheInvalidator {
+    private static final String USER_TASKS = "user-tasks";
+    private static final String USER_CHANGED = "user-changed";
+    private static final String USER_REVOKED = "user-revoked";
+    private static final String USERNAME_RELEASED = "username-released";
+
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheManager cacheManager;
+    private final TaskStatsCache taskStatsCache;
+    private final TaskDueDateCache taskDueDateCache;
+    private final TaskSearchIndex taskSearchIndex;
+    private final PrincipalCache principalCache;
+    private final UserRevocationList revocationList;
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationBus.subscribe(USER_TASKS, key -> evictTaskViews((String) key));
+        invalidationBus.subscribe(USER_CHANGED, key -> principalCache.evict((String) key));
+        invalidationBus.subscribe(USER_REVOKED, key -> revokeLocally((String) key));
+        invalidationBus.subscribe(USERNAME_RELEASED, key -> {
+            revokeLocally((String) key);
+            evictTaskViews((String) key);
+        });
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        cacheManager.getCache(CacheNames.TASK_LISTS).evict(event.getUsername());
+        invalidationBus.publish(USER_TASKS, event.getUsername());
+    }
+
+    /** Profile or status change that leaves existing tokens valid. */
+    public void userChanged(String username) {
+        principalCache.evict(username);
+        afterCommit(() -> invalidationBus.publish(USER_CHANGED, username));
+    }
+
+    /** Change after which tokens issued to the user must no longer be honoured; applied once it commits. */
+    public void userRevoked(String username) {
+        principalCache.evict(username);
+        afterCommit(() -> {
+            revokeLocally(username);
+            invalidationBus.publish(USER_REVOKED, username);
+        });
+    }
+
+    /** The username was renamed or deleted and may be claimed by another account. */
+    public void usernameReleased(String username) {
+        principalCache.evict(username);
+        afterCommit(() -> {
+            revokeLocally(username);
+            cacheManager.getCache(CacheNames.USER_IDS).evict(username);
+            cacheManager.getCache(CacheNames.TASK_LISTS).evict(username);
+            evictTaskViews(username);
+            invalidationBus.publish(USERNAME_RELEASED, username);
+        });
+    }
+
+    private void revokeLocally(String username) {
+        principalCache.evict(username);
+        revocationList.revoke(username);
+    }
+
+    private void evictTaskViews(String username) {
+        taskStatsCache.evict(username);
+        taskDueDateCache.evict(username);
+        taskSearchIndex.evict(username);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskmang.cache;
+
+/**
+ * Second-level cache shared by every node of a deployment. Values must be
+ * {@link java.io.Serializable}; implementations may hand back copies rather
+ * than the instances that were stored.
+ */
+public interface SharedCacheStore {
+    Object get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object value, long ttlMs);
+
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+}
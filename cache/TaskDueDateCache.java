@@ -0,0 +1,130 @@
+package com.taskmang.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taskmang.event.TaskChangedEvent;
+
+/**
+ * Optional near-cache of active users' tasks ordered by due date, answering
+ * the today/upcoming/overdue views from memory. Users are evicted least
+ * recently used first whenever the cached task total exceeds
+ * app.cache.due-index.max-tasks; users with more than max-tasks-per-user
+ * tasks are never cached and keep going to the database.
+ */
+@Component
+public class TaskDueDateCache {
+    @Value("${app.cache.due-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cache.due-index.max-tasks:500000}")
+    private long maxTasks;
+
+    @Value("${app.cache.due-index.max-tasks-per-user:20000}")
+    private int maxTasksPerUser;
+
+    private final Map<String, UserDueDateIndex> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Tasks held across all entries; recounted when a load finishes, tracked by deltas in between
+    private long totalTasks;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxTasksPerUser() {
+        return maxTasksPerUser;
+    }
+
+    public UserDueDateIndex get(String username) {
+        synchronized (entries) {
+            return entries.get(username);
+        }
+    }
+
+    /**
+     * Registers an empty index that already receives change events; the
+     * caller streams the user's tasks into it and then calls finishLoading.
+     */
+    public UserDueDateIndex startLoading(String username) {
+        UserDueDateIndex index = new UserDueDateIndex();
+        synchronized (entries) {
+            UserDueDateIndex previous = entries.put(username, index);
+            if (previous != null) {
+                totalTasks -= previous.size();
+            }
+        }
+        return index;
+    }
+
+    public void finishLoading(UserDueDateIndex index) {
+        index.finishLoading();
+        synchronized (entries) {
+            // Sizes drift with writes between loads, so the cap is re-checked whenever a user is added
+            long total = 0;
+            for (UserDueDateIndex entry : entries.values()) {
+                total += entry.size();
+            }
+            totalTasks = total;
+            trimToCapacity(index);
+        }
+    }
+
+    public void evict(String username) {
+        synchronized (entries) {
+            UserDueDateIndex removed = entries.remove(username);
+            if (removed != null) {
+                totalTasks -= removed.size();
+            }
+        }
+    }
+
+    /** Drops the user's entry only if it is still the given index, e.g. an abandoned load. */
+    public void evict(String username, UserDueDateIndex index) {
+        synchronized (entries) {
+            if (entries.remove(username, index)) {
+                totalTasks -= index.size();
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (entries) {
+            UserDueDateIndex index = entries.get(event.getUsername());
+            if (index == null) {
+                return;
+            }
+            int sizeBefore = index.size();
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                index.remove(event.getTaskId());
+            } else {
+                index.upsert(event.getAfter());
+            }
+            totalTasks += index.size() - sizeBefore;
+            if (index.size() > maxTasksPerUser) {
+                entries.remove(event.getUsername());
+                totalTasks -= index.size();
+            } else {
+                trimToCapacity(index);
+            }
+        }
+    }
+
+    // Caller holds the entries lock
+    private void trimToCapacity(UserDueDateIndex keep) {
+        Iterator<Map.Entry<String, UserDueDateIndex>> eldestFirst = entries.entrySet().iterator();
+        while (totalTasks > maxTasks && eldestFirst.hasNext()) {
+            Map.Entry<String, UserDueDateIndex> eldest = eldestFirst.next();
+            if (eldest.getValue() == keep) {
+                continue;
+            }
+            totalTasks -= eldest.getValue().size();
+            eldestFirst.remove();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskmang.cache;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.taskmang.dto.response.TaskResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A user's task list together with the list version it was read at. */
+@Getter
+@AllArgsConstructor
+public class TaskListSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String listVersion;
+    private final List<TaskResponse> items;
+}
@@ -0,0 +1,100 @@
+package com.taskmang.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taskmang.event.TaskChangedEvent;
+
+/**
+ * Per-user materialized task statistics. Entries are built once from aggregate
+ * queries and then kept current by applying committed task changes as deltas;
+ * an entry is discarded when the calendar day it was built for has passed.
+ * Aggregates cannot tell which changes they already include, so a snapshot
+ * is only cached if no change for that user arrived while it was loading.
+ */
+@Component
+public class TaskStatsCache {
+    @Value("${app.cache.task-stats.max-users:10000}")
+    private int maxUsers;
+
+    private final Map<String, UserTaskStats> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserTaskStats> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    // Users with a snapshot being loaded; guarded by entries
+    private final Map<String, LoadTicket> loading = new HashMap<>();
+
+    public UserTaskStats get(String username) {
+        long today = UserTaskStats.today();
+        synchronized (entries) {
+            UserTaskStats stats = entries.get(username);
+            if (stats != null && stats.getEpochDay() != today) {
+                entries.remove(username);
+                return null;
+            }
+            return stats;
+        }
+    }
+
+    /** Starts counting the user's changes; call before the first aggregate query. */
+    public LoadTicket startLoading(String username) {
+        LoadTicket ticket = new LoadTicket();
+        synchronized (entries) {
+            loading.put(username, ticket);
+        }
+        return ticket;
+    }
+
+    /**
+     * Returns false if a change arrived while the snapshot was loading or a
+     * newer load took over; otherwise caches it. A null snapshot just ends the load.
+     */
+    public boolean finishLoading(String username, LoadTicket ticket, UserTaskStats stats) {
+        synchronized (entries) {
+            if (!loading.remove(username, ticket) || stats == null || ticket.changesSeen > 0) {
+                return false;
+            }
+            if (maxUsers > 0) {
+                entries.put(username, stats);
+            }
+            return true;
+        }
+    }
+
+    /** Also voids any load in flight, so a snapshot read before the eviction is not cached after it. */
+    public void evict(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+            loading.remove(username);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        UserTaskStats stats;
+        synchronized (entries) {
+            LoadTicket ticket = loading.get(event.getUsername());
+            if (ticket != null) {
+                ticket.changesSeen++;
+            }
+            stats = entries.get(event.getUsername());
+        }
+        if (stats != null) {
+            stats.apply(event.getBefore(), event.getAfter());
+        }
+    }
+
+    public static final class LoadTicket {
+        private int changesSeen;
+    }
+}
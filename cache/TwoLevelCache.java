@@ -0,0 +1,141 @@
+package com.taskmang.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} backed by a small node-local
+ * LRU (L1) in front of a {@link SharedCacheStore} (L2). Evictions go to both
+ * tiers and are broadcast so the other nodes drop their L1 copy; puts only
+ * fill the cache and are not broadcast. The short L1 TTL bounds how long a
+ * node can serve a value if an invalidation message is lost.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final String region;
+    private final long localTtlMs;
+    private final long sharedTtlMs;
+    private final Map<Object, LocalEntry> local;
+
+    public TwoLevelCache(String name, SharedCacheStore sharedStore, CacheInvalidationBus invalidationBus,
+            String region, int localMaxEntries, long localTtlMs, long sharedTtlMs) {
+        super(false);
+        this.name = name;
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        this.region = region;
+        this.localTtlMs = localTtlMs;
+        this.sharedTtlMs = sharedTtlMs;
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, LocalEntry> eldest) {
+                return size() > localMaxEntries;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return sharedStore;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        long now = System.currentTimeMillis();
+        synchronized (local) {
+            LocalEntry entry = local.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    return entry.value;
+                }
+                local.remove(key);
+            }
+        }
+        Object value = sharedStore.get(name, key);
+        if (value != null) {
+            putLocal(key, value, now);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        sharedStore.put(name, key, value, sharedTtlMs);
+        putLocal(key, value, System.currentTimeMillis());
+    }
+
+    @Override
+    public void evict(Object key) {
+        sharedStore.evict(name, key);
+        evictLocal(key);
+        invalidationBus.publish(region, key);
+    }
+
+    @Override
+    public void clear() {
+        sharedStore.clear(name);
+        evictLocal(null);
+        invalidationBus.publish(region, null);
+    }
+
+    void evictLocal(Object key) {
+        synchronized (local) {
+            if (key == null) {
+                local.clear();
+            } else {
+                local.remove(key);
+            }
+        }
+    }
+
+    private void putLocal(Object key, Object value, long now) {
+        if (localTtlMs <= 0) {
+            return;
+        }
+        synchronized (local) {
+            local.put(key, new LocalEntry(value, now + localTtlMs));
+        }
+    }
+
+    private static final class LocalEntry {
+        private final Object value;
+        private final long expiresAt;
+
+        private LocalEntry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
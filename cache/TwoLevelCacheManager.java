@@ -0,0 +1,47 @@
+package com.taskmang.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+public class TwoLevelCacheManager implements CacheManager {
+    private static final String REGION_PREFIX = "cache:";
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final int localMaxEntries;
+    private final long localTtlMs;
+    private final long sharedTtlMs;
+
+    public TwoLevelCacheManager(SharedCacheStore sharedStore, CacheInvalidationBus invalidationBus,
+            int localMaxEntries, long localTtlMs, long sharedTtlMs) {
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        this.localMaxEntries = localMaxEntries;
+        this.localTtlMs = localTtlMs;
+        this.sharedTtlMs = sharedTtlMs;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        String region = REGION_PREFIX + name;
+        TwoLevelCache cache = new TwoLevelCache(name, sharedStore, invalidationBus, region,
+                localMaxEntries, localTtlMs, sharedTtlMs);
+        invalidationBus.subscribe(region, cache::evictLocal);
+        return cache;
+    }
+}
@@ -0,0 +1,120 @@
+package com.taskmang.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.taskmang.dto.response.TaskResponse;
+
+/**
+ * One user's tasks ordered by (due date millis, id), the same order the
+ * due-date queries use, so each dashboard view is a single sub-map walk.
+ */
+public class UserDueDateIndex {
+    private final TreeMap<DueKey, TaskResponse> byDueDate = new TreeMap<>();
+    private final Map<Long, DueKey> keysById = new HashMap<>();
+    // Deletes seen while the initial load is still streaming, so the load cannot resurrect them
+    private Set<Long> deletedWhileLoading = new HashSet<>();
+
+    public synchronized void upsert(TaskResponse task) {
+        if (task.getDueDate() == null
+                || (deletedWhileLoading != null && deletedWhileLoading.contains(task.getId()))) {
+            return;
+        }
+        DueKey existingKey = keysById.get(task.getId());
+        if (existingKey != null) {
+            TaskResponse existing = byDueDate.get(existingKey);
+            if (task.getVersion() != null && existing.getVersion() != null
+                    && task.getVersion() < existing.getVersion()) {
+                return;
+            }
+            byDueDate.remove(existingKey);
+        }
+        DueKey key = new DueKey(task.getDueDate().getTime(), task.getId());
+        keysById.put(task.getId(), key);
+        byDueDate.put(key, task);
+    }
+
+    public synchronized void remove(Long taskId) {
+        if (deletedWhileLoading != null) {
+            deletedWhileLoading.add(taskId);
+        }
+        DueKey key = keysById.remove(taskId);
+        if (key != null) {
+            byDueDate.remove(key);
+        }
+    }
+
+    public synchronized void finishLoading() {
+        deletedWhileLoading = null;
+    }
+
+    public synchronized boolean isLoaded() {
+        return deletedWhileLoading == null;
+    }
+
+    public synchronized int size() {
+        return byDueDate.size();
+    }
+
+    /** Tasks due in [fromMillis, toMillis], both inclusive. */
+    public synchronized List<TaskResponse> dueBetween(long fromMillis, long toMillis) {
+        return new ArrayList<>(byDueDate.subMap(DueKey.lowest(fromMillis), true, DueKey.highest(toMillis), true).values());
+    }
+
+    /** Tasks due strictly after the given instant. */
+    public synchronized List<TaskResponse> dueAfter(long millis) {
+        return new ArrayList<>(byDueDate.tailMap(DueKey.highest(millis), false).values());
+    }
+
+    /** Open tasks due strictly before the given instant. */
+    public synchronized List<TaskResponse> openDueBefore(long millis) {
+        Collection<TaskResponse> candidates = byDueDate.headMap(DueKey.lowest(millis), false).values();
+        List<TaskResponse> open = new ArrayList<>();
+        for (TaskResponse task : candidates) {
+            if (!UserTaskStats.isCompleted(task.getStatus())) {
+                open.add(task);
+            }
+        }
+        return open;
+    }
+
+    private static final class DueKey implements Comparable<DueKey> {
+        private final long dueMillis;
+        private final long id;
+
+        private DueKey(long dueMillis, long id) {
+            this.dueMillis = dueMillis;
+            this.id = id;
+        }
+
+        static DueKey lowest(long dueMillis) {
+            return new DueKey(dueMillis, Long.MIN_VALUE);
+        }
+
+        static DueKey highest(long dueMillis) {
+            return new DueKey(dueMillis, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byDue = Long.compare(dueMillis, other.dueMillis);
+            return byDue != 0 ? byDue : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DueKey && compareTo((DueKey) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(dueMillis) * 31 + Long.hashCode(id);
+        }
+    }
+}
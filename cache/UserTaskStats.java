@@ -0,0 +1,114 @@
+package com.taskmang.cache;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.taskmang.dto.response.TaskResponse;
+import com.taskmang.dto.response.TaskStatsResponse;
+
+/**
+ * Materialized statistics for one user, valid for a single calendar day.
+ * Overdue / due-today / due-this-week only count open tasks and are bucketed
+ * by day, so every change can be applied as an exact +1/-1 delta.
+ */
+public class UserTaskStats {
+    public static final String UNCATEGORIZED = "Uncategorized";
+    public static final Set<String> COMPLETED_STATUSES = Set.of("COMPLETED", "DONE");
+    private static final int WEEK_DAYS = 7;
+
+    private final long epochDay;
+    private final Map<String, Long> byStatus = new HashMap<>();
+    private final Map<String, Long> byCategory = new HashMap<>();
+    private long total;
+    private long completed;
+    private long overdue;
+    private long dueToday;
+    private long dueThisWeek;
+
+    public UserTaskStats(long epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    public static boolean isCompleted(String status) {
+        return status != null && COMPLETED_STATUSES.contains(status.toUpperCase());
+    }
+
+    public static long toEpochDay(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    public static long today() {
+        return LocalDate.now().toEpochDay();
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    // Loading from aggregate rows
+    public synchronized void addStatusCounts(String status, long count, long overdueCount,
+                                             long dueTodayCount, long dueThisWeekCount) {
+        byStatus.merge(status, count, Long::sum);
+        total += count;
+        if (isCompleted(status)) {
+            completed += count;
+        } else {
+            overdue += overdueCount;
+            dueToday += dueTodayCount;
+            dueThisWeek += dueThisWeekCount;
+        }
+    }
+
+    public synchronized void addCategoryCount(String category, long count) {
+        byCategory.merge(category != null ? category : UNCATEGORIZED, count, Long::sum);
+    }
+
+    // Incremental maintenance
+    public synchronized void apply(TaskResponse before, TaskResponse after) {
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+    }
+
+    private void add(TaskResponse task, long delta) {
+        total += delta;
+        adjust(byStatus, task.getStatus(), delta);
+        adjust(byCategory, task.getCategory() != null ? task.getCategory() : UNCATEGORIZED, delta);
+
+        if (isCompleted(task.getStatus())) {
+            completed += delta;
+            return;
+        }
+        if (task.getDueDate() == null) {
+            return;
+        }
+        long dueDay = toEpochDay(task.getDueDate());
+        if (dueDay < epochDay) {
+            overdue += delta;
+        } else {
+            if (dueDay == epochDay) {
+                dueToday += delta;
+            }
+            if (dueDay < epochDay + WEEK_DAYS) {
+                dueThisWeek += delta;
+            }
+        }
+    }
+
+    private static void adjust(Map<String, Long> counts, String key, long delta) {
+        counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    public synchronized TaskStatsResponse toResponse() {
+        double completionRate = total == 0 ? 0.0 : (double) completed / total;
+        return new TaskStatsResponse(total, completed, overdue, dueToday, dueThisWeek, completionRate,
+                new HashMap<>(byStatus), new HashMap<>(byCategory));
+    }
+}
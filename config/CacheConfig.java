@@ -0,0 +1,44 @@
+package com.taskmang.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.taskmang.cache.CacheInvalidationBus;
+import com.taskmang.cache.InMemoryCacheInvalidationBus;
+import com.taskmang.cache.InMemorySharedCacheStore;
+import com.taskmang.cache.SharedCacheStore;
+import com.taskmang.cache.TwoLevelCacheManager;
+
+/**
+ * Two-tier caching for lookups that are safe to share between nodes. The
+ * shared store and invalidation bus default to in-process stand-ins; a
+ * multi-node deployment replaces those two beans with networked ones.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public SharedCacheStore sharedCacheStore(
+            @Value("${app.cache.shared.max-entries-per-cache:100000}") int maxEntriesPerCache,
+            @Value("${app.cache.shared.max-bytes-per-cache:67108864}") long maxBytesPerCache,
+            @Value("${app.cache.shared.max-entry-bytes:1048576}") int maxEntryBytes) {
+        return new InMemorySharedCacheStore(maxEntriesPerCache, maxBytesPerCache, maxEntryBytes);
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus() {
+        return new InMemoryCacheInvalidationBus();
+    }
+
+    @Bean
+    public CacheManager cacheManager(SharedCacheStore sharedCacheStore, CacheInvalidationBus cacheInvalidationBus,
+            @Value("${app.cache.local.max-entries:10000}") int localMaxEntries,
+            @Value("${app.cache.local.ttl-ms:30000}") long localTtlMs,
+            @Value("${app.cache.shared.ttl-ms:600000}") long sharedTtlMs) {
+        return new TwoLevelCacheManager(sharedCacheStore, cacheInvalidationBus, localMaxEntries, localTtlMs, sharedTtlMs);
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmang.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaBatchConfig {
+    @Value("${app.jpa.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.jpa.id-optimizer:pooled-lo}")
+    private String idOptimizer;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+            properties.putIfAbsent("hibernate.id.optimizer.pooled.preferred", idOptimizer);
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskmang.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmang.entity.AuditLog;
+import com.taskmang.entity.RefreshToken;
+import com.taskmang.entity.Role;
+import com.taskmang.entity.Task;
+import com.taskmang.entity.TaskTombstone;
+import com.taskmang.entity.User;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves each ID sequence past the highest existing ID at startup. Schemas
+ * created while IDs were IDENTITY columns already hold rows, and the sequences
+ * Hibernate adds for them start at 1, so the first inserts would collide with
+ * existing keys. A sequence already ahead of the data is left alone. Set
+ * app.jpa.seed-sequences=false once every environment has been migrated.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(SequenceSeeder.class);
+
+    // Headroom for the pooled optimizer, which hands out the block ending at the value it reads
+    private static final long MAX_ALLOCATION_SIZE = 50;
+
+    private static final Map<String, Class<?>> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("role_seq", Role.class);
+        SEQUENCES.put("user_seq", User.class);
+        SEQUENCES.put("task_seq", Task.class);
+        SEQUENCES.put("task_tombstone_seq", TaskTombstone.class);
+        SEQUENCES.put("refresh_token_seq", RefreshToken.class);
+        SEQUENCES.put("audit_log_seq", AuditLog.class);
+    }
+
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.jpa.seed-sequences:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void seedSequences() {
+        if (!enabled) {
+            return;
+        }
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        SEQUENCES.forEach((sequence, entity) -> {
+            try {
+                transaction.executeWithoutResult(status -> seed(dialect.getSequenceSupport(), sequence, entity));
+            } catch (RuntimeException e) {
+                logger.warn("Could not seed sequence {}; set its next value above MAX(id) of {} manually: {}",
+                        sequence, entity.getSimpleName(), e.getMessage());
+            }
+        });
+    }
+
+    private void seed(SequenceSupport sequenceSupport, String sequence, Class<?> entity) {
+        Number maxId = (Number) entityManager
+                .createQuery("SELECT MAX(e.id) FROM " + entity.getSimpleName() + " e")
+                .getSingleResult();
+        if (maxId == null) {
+            return;
+        }
+        long next = maxId.longValue() + MAX_ALLOCATION_SIZE;
+
+        if (sequenceSupport.supportsSequences()) {
+            Number current = (Number) entityManager
+                    .createNativeQuery(sequenceSupport.getSequenceNextValString(sequence))
+                    .getSingleResult();
+            if (current.longValue() >= next) {
+                return;
+            }
+            entityManager.createNativeQuery("ALTER SEQUENCE " + sequence + " RESTART WITH " + next).executeUpdate();
+        } else {
+            // Without native sequences Hibernate keeps the next value in a single-row table
+            int updated = entityManager
+                    .createNativeQuery("UPDATE " + sequence + " SET next_val = ?1 WHERE next_val < ?1")
+                    .setParameter(1, next)
+                    .executeUpdate();
+            if (updated == 0) {
+                return;
+            }
+        }
+        logger.info("Moved sequence {} to {} past existing {} rows", sequence, next, entity.getSimpleName());
+    }
+}
@@ -0,0 +1,71 @@
+package com.taskmang.config;
+
+import java.util.concurrent.ExecutorService;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.taskmang.util.VirtualThreads;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Runs servlet request handling and MVC async work (streamed exports) on
+ * virtual threads when {@code app.threads.virtual.enabled=true}. With a
+ * thread per request, the Hikari pool rather than Tomcat's worker count
+ * bounds JDBC concurrency, so the pool can be sized here as well.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        if (!VirtualThreads.isSupported()) {
+            logger.warn("app.threads.virtual.enabled is set but this JDK has no virtual threads; "
+                    + "keeping the platform thread pool");
+            return protocolHandler -> { };
+        }
+        logger.info("Handling servlet requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (VirtualThreads.isSupported()) {
+            ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("mvc-async-vt-");
+            configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+        }
+    }
+
+    @Bean
+    public static BeanPostProcessor virtualThreadPoolSizer(Environment environment) {
+        int poolSize = environment.getProperty("app.threads.virtual.db-pool-size", Integer.class, 0);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    HikariDataSource dataSource = (HikariDataSource) bean;
+                    if (poolSize > 0) {
+                        dataSource.setMaximumPoolSize(poolSize);
+                    }
+                    logger.info("JDBC concurrency is bounded by the connection pool: {} connections, "
+                            + "callers wait up to {} ms for one", dataSource.getMaximumPoolSize(),
+                            dataSource.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
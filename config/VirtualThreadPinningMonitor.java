@@ -0,0 +1,78 @@
+package com.taskmang.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.taskmang.util.VirtualThreads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier longer than a
+ * threshold, typically blocking I/O such as JDBC inside a synchronized block
+ * or native frame. Uses an in-process JFR stream of jdk.VirtualThreadPinned.
+ */
+@Component
+@ConditionalOnProperty(name = "app.threads.virtual.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    @Value("${app.threads.virtual.pinning-monitor.threshold-ms:20}")
+    private long thresholdMs;
+
+    private final LongAdder pinnedCount = new LongAdder();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        if (!VirtualThreads.isSupported()) {
+            logger.warn("Pinning monitor enabled but this JDK has no virtual threads");
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for more than {} ms", thresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedCount.increment();
+        String frames = "";
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> stack = event.getStackTrace().getFrames();
+            frames = stack.stream()
+                    .limit(LOGGED_FRAMES)
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                            + ":" + frame.getLineNumber())
+                    .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        }
+        String thread = event.getThread() == null ? "?" : event.getThread().getJavaName();
+        logger.warn("Virtual thread {} pinned for {} ms{}", thread, event.getDuration().toMillis(), frames);
+    }
+}
@@ -1,5 +1,6 @@
 package com.taskmang.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,8 +18,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import com.taskmang.security.AuthEntryPointJwt;
 import com.taskmang.security.AuthTokenFilter;
 import com.taskmang.security.JwtUtils;
+import com.taskmang.security.PrincipalCache;
 import com.taskmang.security.UserDetailsServiceImpl;
+import com.taskmang.security.UserRevocationList;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -29,15 +33,25 @@ public class WebSecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final JwtUtils jwtUtils;
+    private final PrincipalCache principalCache;
+    private final UserRevocationList revocationList;
+
+    @Value("${app.security.claims-trusted:false}")
+    private boolean claimsTrusted;
+
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
 
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
-        return new AuthTokenFilter(jwtUtils, userDetailsService); // Provide dependencies
+        return new AuthTokenFilter(jwtUtils, userDetailsService, principalCache,
+                revocationList, claimsTrusted); // Provide dependencies
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Stored hashes with a lower cost are upgraded on the next successful login
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -52,6 +66,8 @@ public class WebSecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches (SSE, streamed exports) resume a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/test/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
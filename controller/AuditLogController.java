@@ -1,6 +1,7 @@
 package com.taskmang.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -39,4 +40,11 @@ public class AuditLogController {
             @PathVariable String username) {
         return ResponseEntity.ok(auditLogService.getLogsForUser(username));
     }
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get audit writer queue and flush metrics (Admin only)")
+    public ResponseEntity<Map<String, Object>> getWriterMetrics() {
+        return ResponseEntity.ok(auditLogService.getWriterMetrics());
+    }
 }
@@ -1,16 +1,14 @@
 package com.taskmang.controller;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,95 +17,69 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.taskmang.dto.request.LoginRequest;
+import com.taskmang.dto.request.RefreshTokenRequest;
 import com.taskmang.dto.request.SignupRequest;
 import com.taskmang.dto.response.JwtResponse;
 import com.taskmang.dto.response.MessageResponse;
-import com.taskmang.entity.Role;
-import com.taskmang.entity.User;
-import com.taskmang.enums.ERole;
-import com.taskmang.repository.RoleRepository;
-import com.taskmang.repository.UserRepository;
-import com.taskmang.security.JwtUtils;
+import com.taskmang.security.PasswordHashingExecutor;
 import com.taskmang.security.UserDetailsImpl;
+import com.taskmang.service.RefreshTokenService;
+import com.taskmang.service.UserService;
 
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/auth")
-@RequiredArgsConstructor
 public class AuthController {
     private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final UserService userService;
     private final PasswordEncoder passwordEncoder;
-    private final JwtUtils jwtUtils;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
+    // Spring Boot's application executor (also behind MVC async); DB work after hashing runs here
+    private final AsyncTaskExecutor applicationTaskExecutor;
 
-    @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    public AuthController(AuthenticationManager authenticationManager, UserService userService,
+            PasswordEncoder passwordEncoder, PasswordHashingExecutor passwordHashingExecutor,
+            RefreshTokenService refreshTokenService,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            AsyncTaskExecutor applicationTaskExecutor) {
+        this.authenticationManager = authenticationManager;
+        this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
+    @PostMapping("/signin")
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        // The BCrypt check runs on the hashing pool; the request thread is released meanwhile
+        return passwordHashingExecutor.submit(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())))
+                .thenApplyAsync(this::toJwtResponse, applicationTaskExecutor);
+    }
 
+    private ResponseEntity<?> toJwtResponse(Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        List<String> roles = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(refreshTokenService.issueTokens(userDetails));
+    }
 
-        return ResponseEntity.ok(new JwtResponse(
-                jwt,
-                jwt, userDetails.getId(),
-                userDetails.getUsername(),
-                userDetails.getEmail(),
-                roles));
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        return ResponseEntity.ok(refreshTokenService.refresh(refreshRequest.getRefreshToken()));
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Username is already taken!"));
-        }
-
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Email is already in use!"));
-        }
-
-        User user = new User();
-        user.setUsername(signUpRequest.getUsername());
-        user.setEmail(signUpRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
-
-        Set<Role> roles = new HashSet<>();
-        if (signUpRequest.getRoles() == null || signUpRequest.getRoles().isEmpty()) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-            roles.add(userRole);
-        } else {
-            signUpRequest.getRoles().forEach(role -> {
-                switch (role) {
-                    case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(adminRole);
-                        break;
-                    default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(userRole);
-                }
-            });
-        }
-
-        user.setRoles(roles);
-        userRepository.save(user);
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+        // Reject duplicates before spending a BCrypt round on them
+        userService.checkAvailable(signUpRequest.getUsername(), signUpRequest.getEmail());
 
-        return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(signUpRequest.getPassword()))
+                .thenApplyAsync(passwordHash -> {
+                    userService.registerUser(signUpRequest, passwordHash);
+                    return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+                }, applicationTaskExecutor);
     }
 }
@@ -2,21 +2,46 @@ package com.taskmang.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.taskmang.dto.request.BulkTaskRequest;
+import com.taskmang.dto.request.TaskFilterRequest;
+import com.taskmang.dto.request.TaskPatchRequest;
 import com.taskmang.dto.request.TaskRequest;
+import com.taskmang.dto.response.BulkTaskResponse;
+import com.taskmang.dto.response.TaskChangesResponse;
+import com.taskmang.dto.response.TaskImportStatus;
+import com.taskmang.dto.response.TaskPageResponse;
 import com.taskmang.dto.response.TaskResponse;
+import com.taskmang.dto.response.TaskSearchResponse;
+import com.taskmang.dto.response.TaskStatsResponse;
+import com.taskmang.enums.ExportFormat;
+import com.taskmang.event.TaskEventBroadcaster;
+import com.taskmang.exception.PreconditionFailedException;
+import com.taskmang.service.TaskBulkService;
+import com.taskmang.service.TaskImportService;
 import com.taskmang.service.TaskService;
+import com.taskmang.service.TaskSyncService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -29,12 +54,64 @@ import lombok.RequiredArgsConstructor;
 @SecurityRequirement(name = "bearerAuth")
 public class TaskController {
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final TaskImportService taskImportService;
+    private final TaskSyncService taskSyncService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
 
     @GetMapping
     @Operation(summary = "Get all tasks for the current user")
-    public ResponseEntity<List<TaskResponse>> getAllTasks(Authentication authentication) {
+    public ResponseEntity<List<TaskResponse>> getAllTasks(Authentication authentication, WebRequest webRequest) {
         String username = authentication.getName();
-        return ResponseEntity.ok(taskService.findAllByUser(username));
+        String listVersion = taskService.getTaskListVersion(username);
+        String etag = listETag(listVersion);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(taskService.findAllByUser(username, listVersion));
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of tasks for the current user, ordered by due date")
+    public ResponseEntity<TaskPageResponse> getTaskPage(
+            TaskFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication,
+            WebRequest webRequest) {
+        String username = authentication.getName();
+        String etag = listETag(taskService.getTaskListVersion(username));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(taskService.findPageByUser(username, filter, cursor, limit));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search the current user's tasks by name, category and description")
+    public ResponseEntity<TaskSearchResponse> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(taskService.searchTasks(username, query, page, size));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get tasks created, updated or deleted since the given sync token")
+    public ResponseEntity<TaskChangesResponse> getTaskChanges(
+            @RequestParam(required = false) String since,
+            Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(taskSyncService.getChanges(username, since));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to task create/update/delete events as server-sent events")
+    public SseEmitter streamTaskEvents(Authentication authentication) {
+        String username = authentication.getName();
+        return taskEventBroadcaster.subscribe(username);
     }
 
     @GetMapping("/{taskId}")
@@ -43,7 +120,8 @@ public class TaskController {
             @PathVariable Long taskId, 
             Authentication authentication) {
         String username = authentication.getName();
-        return ResponseEntity.ok(taskService.findById(taskId, username));
+        TaskResponse task = taskService.findById(taskId, username);
+        return ResponseEntity.ok().eTag(taskETag(task)).body(task);
     }
 
     @PostMapping
@@ -55,23 +133,65 @@ public class TaskController {
         return ResponseEntity.ok(taskService.create(username, taskRequest));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create, update and delete tasks in bulk with per-item results")
+    public ResponseEntity<BulkTaskResponse> bulkTasks(
+            @Valid @RequestBody BulkTaskRequest bulkRequest,
+            Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(taskBulkService.execute(username, bulkRequest.getOperations()));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import tasks from a CSV or XLSX file")
+    public ResponseEntity<TaskImportStatus> importTasks(
+            @RequestPart("file") MultipartFile file,
+            Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(taskImportService.startImport(username, file));
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get the progress of a task import")
+    public ResponseEntity<TaskImportStatus> getImportStatus(
+            @PathVariable String jobId,
+            Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(taskImportService.getStatus(username, jobId));
+    }
+
     @PutMapping("/{taskId}")
     @Operation(summary = "Update an existing task")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long taskId,
             @Valid @RequestBody TaskRequest taskRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            Authentication authentication) {
+        String username = authentication.getName();
+        TaskResponse task = taskService.update(taskId, username, taskRequest, expectedVersion(ifMatch, taskId));
+        return ResponseEntity.ok().eTag(taskETag(task)).body(task);
+    }
+
+    @PatchMapping("/{taskId}")
+    @Operation(summary = "Update only the given fields of a task")
+    public ResponseEntity<TaskResponse> patchTask(
+            @PathVariable Long taskId,
+            @Valid @RequestBody TaskPatchRequest patchRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String username = authentication.getName();
-        return ResponseEntity.ok(taskService.update(taskId, username, taskRequest));
+        TaskResponse task = taskService.patch(taskId, username, patchRequest, expectedVersion(ifMatch, taskId));
+        return ResponseEntity.ok().eTag(taskETag(task)).body(task);
     }
 
     @DeleteMapping("/{taskId}")
     @Operation(summary = "Delete a task")
     public ResponseEntity<Void> deleteTask(
             @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String username = authentication.getName();
-        taskService.delete(taskId, username);
+        taskService.delete(taskId, username, expectedVersion(ifMatch, taskId));
         return ResponseEntity.noContent().build();
     }
 
@@ -82,6 +202,13 @@ public class TaskController {
         return ResponseEntity.ok(taskService.findTasksDueToday(username));
     }
 
+    @GetMapping("/overdue")
+    @Operation(summary = "Get open tasks whose due date has passed")
+    public ResponseEntity<List<TaskResponse>> getOverdueTasks(Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(taskService.findOverdueTasks(username));
+    }
+
     @GetMapping("/upcoming")
     @Operation(summary = "Get upcoming tasks")
     public ResponseEntity<List<TaskResponse>> getUpcomingTasks(Authentication authentication) {
@@ -91,17 +218,51 @@ public class TaskController {
 
     @GetMapping("/stats")
     @Operation(summary = "Get task statistics")
-    public ResponseEntity<Object> getTaskStats(Authentication authentication) {
+    public ResponseEntity<TaskStatsResponse> getTaskStats(Authentication authentication) {
         String username = authentication.getName();
         return ResponseEntity.ok(taskService.getTaskStats(username));
     }
 
     @GetMapping("/export")
     @Operation(summary = "Export tasks")
-    public ResponseEntity<byte[]> exportTasks(
+    public ResponseEntity<StreamingResponseBody> exportTasks(
             @RequestParam String format,
             Authentication authentication) {
         String username = authentication.getName();
-        return ResponseEntity.ok(taskService.exportTasks(username, format));
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = outputStream -> taskService.exportTasks(username, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    private static String listETag(String listVersion) {
+        return "W/\"" + listVersion + "\"";
+    }
+
+    private static String taskETag(TaskResponse task) {
+        return "\"" + task.getId() + "-" + task.getVersion() + "\"";
+    }
+
+    // If-Match carries an ETag from taskETag(); "*" or no header means no version check
+    private static Long expectedVersion(String ifMatch, Long taskId) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            throw new PreconditionFailedException("Weak ETags cannot be used with If-Match");
+        }
+        value = value.replace("\"", "");
+        int separator = value.lastIndexOf('-');
+        try {
+            if (separator > 0 && Long.parseLong(value.substring(0, separator)) == taskId) {
+                return Long.valueOf(value.substring(separator + 1));
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new PreconditionFailedException("If-Match does not match this task");
     }
-}
\ No newline at end of file
+}
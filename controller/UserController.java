@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.taskmang.dto.request.SignupRequest;
 import com.taskmang.dto.response.UserResponse;
+import com.taskmang.security.PasswordHashingExecutor;
 import com.taskmang.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 @SecurityRequirement(name = "bearerAuth")
 public class UserController {
     private final UserService userService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -40,7 +42,10 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create a new user (Admin only)")
     public ResponseEntity<UserResponse> createUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        return ResponseEntity.ok(userService.registerUser(signUpRequest));
+        // Hash outside the service transaction so no connection is held meanwhile
+        userService.checkAvailable(signUpRequest.getUsername(), signUpRequest.getEmail());
+        String passwordHash = passwordHashingExecutor.encode(signUpRequest.getPassword());
+        return ResponseEntity.ok(userService.registerUser(signUpRequest, passwordHash));
     }
 
     @PutMapping("/{userId}")
@@ -49,7 +54,9 @@ public class UserController {
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long userId,
             @Valid @RequestBody SignupRequest signUpRequest) {
-        return ResponseEntity.ok(userService.updateUser(userId, signUpRequest));
+        String passwordHash = signUpRequest.getPassword() == null || signUpRequest.getPassword().isEmpty()
+                ? null : passwordHashingExecutor.encode(signUpRequest.getPassword());
+        return ResponseEntity.ok(userService.updateUser(userId, signUpRequest, passwordHash));
     }
 
     @DeleteMapping("/{userId}")
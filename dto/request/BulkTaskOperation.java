@@ -0,0 +1,24 @@
+package com.taskmang.dto.request;
+
+import com.taskmang.enums.BulkOperationType;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskOperation {
+    @NotNull
+    private BulkOperationType type;
+
+    private Long taskId;
+
+    private TaskRequest task;
+}
@@ -0,0 +1,41 @@
+package com.taskmang.dto.request;
+
+import java.util.Date;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Partial task update: fields left {@code null} are not changed. An empty
+ * description or category clears the value.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPatchRequest {
+    // Like @NotBlank, but a null field still means "leave unchanged"
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Size(min = 1, max = 50)
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String name;
+
+    @Size(max = 50)
+    private String description;
+
+    @Size(max = 50)
+    private String category;
+
+    private Date dueDate;
+
+    @Size(min = 1, max = 20)
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String status;
+}
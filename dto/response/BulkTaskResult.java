@@ -0,0 +1,30 @@
+package com.taskmang.dto.response;
+
+import com.taskmang.enums.BulkOperationType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskResult {
+    private int index;
+    private BulkOperationType type;
+    private Long taskId;
+    private boolean success;
+    private String error;
+
+    public static BulkTaskResult ok(int index, BulkOperationType type, Long taskId) {
+        return new BulkTaskResult(index, type, taskId, true, null);
+    }
+
+    public static BulkTaskResult failed(int index, BulkOperationType type, Long taskId, String error) {
+        return new BulkTaskResult(index, type, taskId, false, error);
+    }
+}
@@ -15,7 +15,9 @@ import lombok.Setter;
 @Builder
 public class JwtResponse {
     private String token;
+    @Builder.Default
     private String type = "Bearer";
+    private String refreshToken;
     private Long id;
     private String username;
     private String email;
@@ -0,0 +1,21 @@
+package com.taskmang.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangesResponse {
+    private List<TaskResponse> changed;
+    private List<Long> deleted;
+    private String syncToken;
+    private boolean fullResync;
+}
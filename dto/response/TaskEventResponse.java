@@ -0,0 +1,18 @@
+package com.taskmang.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskEventResponse {
+    private String type;
+    private Long taskId;
+    private TaskResponse task;
+}
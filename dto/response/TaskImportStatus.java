@@ -0,0 +1,28 @@
+package com.taskmang.dto.response;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportStatus {
+    private String jobId;
+    private String status;
+    private String fileName;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private List<String> errors;
+    private String message;
+    private Date startedAt;
+    private Date finishedAt;
+}
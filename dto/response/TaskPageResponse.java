@@ -0,0 +1,20 @@
+package com.taskmang.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPageResponse {
+    private List<TaskResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -1,5 +1,6 @@
 package com.taskmang.dto.response;
 
+import java.io.Serializable;
 import java.util.Date;
 
 import lombok.AllArgsConstructor;
@@ -13,7 +14,9 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class TaskResponse {
+public class TaskResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private Long id;
     private String name;
     private String description;
@@ -22,4 +25,5 @@ public class TaskResponse {
     private String status;
     private Date createdAt;
     private Date updatedAt;
+    private Long version;
 }
@@ -0,0 +1,25 @@
+package com.taskmang.dto.response;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatsResponse {
+    private long total;
+    private long completed;
+    private long overdue;
+    private long dueToday;
+    private long dueThisWeek;
+    private double completionRate;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCategory;
+}
@@ -0,0 +1,9 @@
+package com.taskmang.enums;
+
+public enum BulkOperationType {
+
+	CREATE,
+	UPDATE,
+	DELETE
+
+}
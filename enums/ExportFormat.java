@@ -0,0 +1,36 @@
+package com.taskmang.enums;
+
+import com.taskmang.exception.BadRequestException;
+
+public enum ExportFormat {
+
+	CSV("text/csv", "csv"),
+	XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+	private final String contentType;
+	private final String extension;
+
+	ExportFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public static ExportFormat from(String format) {
+		if (format != null) {
+			for (ExportFormat value : values()) {
+				if (value.name().equalsIgnoreCase(format) || ("excel".equalsIgnoreCase(format) && value == XLSX)) {
+					return value;
+				}
+			}
+		}
+		throw new BadRequestException("Unsupported export format: " + format);
+	}
+}
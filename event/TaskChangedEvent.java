@@ -0,0 +1,35 @@
+package com.taskmang.event;
+
+import com.taskmang.dto.response.TaskResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final String username;
+    private final Long userId;
+    private final Long taskId;
+    private final TaskResponse before;
+    private final TaskResponse after;
+
+    public static TaskChangedEvent created(String username, Long userId, TaskResponse after) {
+        return new TaskChangedEvent(Type.CREATED, username, userId, after.getId(), null, after);
+    }
+
+    public static TaskChangedEvent updated(String username, Long userId, TaskResponse before, TaskResponse after) {
+        return new TaskChangedEvent(Type.UPDATED, username, userId, after.getId(), before, after);
+    }
+
+    public static TaskChangedEvent deleted(String username, Long userId, TaskResponse before) {
+        return new TaskChangedEvent(Type.DELETED, username, userId, before.getId(), before, null);
+    }
+}
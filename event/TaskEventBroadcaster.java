@@ -0,0 +1,336 @@
+package com.taskmang.event;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.taskmang.dto.response.TaskEventResponse;
+import com.taskmang.exception.TooManyRequestsException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes committed task changes to per-user SSE subscribers. Connections are
+ * held by the async servlet support, so an idle subscriber costs no thread;
+ * a small dispatcher pool writes pending events. Each subscriber buffers at
+ * most one event per task, and one that falls too far behind, or whose write
+ * stalls, is disconnected so it can reconnect and catch up through the delta
+ * sync endpoint.
+ */
+@Component
+public class TaskEventBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    @Value("${app.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.sse.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.sse.max-connections:50000}")
+    private int maxConnections;
+
+    @Value("${app.sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.sse.dispatcher-threads:4}")
+    private int dispatcherThreads;
+
+    @Value("${app.sse.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${app.sse.max-lag-ms:30000}")
+    private long maxLagMs;
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder slowConsumerEvictions = new LongAdder();
+    private ExecutorService dispatcher;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> close(subscriber, false)));
+        dispatcher.shutdownNow();
+    }
+
+    public SseEmitter subscribe(String username) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new TooManyRequestsException("Too many open event streams, try again later");
+        }
+
+        Subscriber subscriber = new Subscriber(username, new SseEmitter(timeoutMs));
+        // Added inside compute so a concurrent close of the user's last stream cannot orphan the list
+        List<Subscriber> userSubscribers = subscribers.compute(username, (key, list) -> {
+            List<Subscriber> updated = list != null ? list : new CopyOnWriteArrayList<>();
+            updated.add(subscriber);
+            return updated;
+        });
+        // A user reopening tabs replaces their oldest stream instead of being refused
+        while (userSubscribers.size() > maxConnectionsPerUser) {
+            close(userSubscribers.get(0), true);
+        }
+
+        subscriber.emitter.onCompletion(() -> close(subscriber, false));
+        subscriber.emitter.onTimeout(() -> close(subscriber, true));
+        subscriber.emitter.onError(error -> close(subscriber, false));
+        try {
+            subscriber.emitter.send(SseEmitter.event().name("connected").reconnectTime(5000).data(""));
+        } catch (IOException e) {
+            close(subscriber, false);
+        }
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<Subscriber> userSubscribers = subscribers.get(event.getUsername());
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            if (!subscriber.offer(event)) {
+                slowConsumerEvictions.increment();
+                logger.warn("Disconnecting slow event stream subscriber for user {}", event.getUsername());
+                close(subscriber, true);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::heartbeat));
+    }
+
+    // A blocked write holds a dispatcher thread, so stalled subscribers are cut loose rather than waited on
+    @Scheduled(fixedDelayString = "${app.sse.stall-check-ms:1000}")
+    public void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(list -> list.forEach(subscriber -> {
+            if (subscriber.isStalled(now)) {
+                slowConsumerEvictions.increment();
+                logger.warn("Disconnecting stalled event stream subscriber for user {}", subscriber.username);
+                close(subscriber, false);
+                if (subscriber.abortSend()) {
+                    complete(subscriber.emitter);
+                }
+            }
+        }));
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getSlowConsumerEvictionCount() {
+        return slowConsumerEvictions.sum();
+    }
+
+    private void close(Subscriber subscriber, boolean completeEmitter) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.username, (key, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+        if (completeEmitter) {
+            complete(subscriber.emitter);
+        }
+    }
+
+    private static void complete(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (RuntimeException e) {
+            logger.debug("Event stream already closed: {}", e.getMessage());
+        }
+    }
+
+    // Merges a new change into the one already queued for the same task
+    private static TaskChangedEvent coalesce(TaskChangedEvent queued, TaskChangedEvent next) {
+        if (queued == null) {
+            return next;
+        }
+        TaskChangedEvent.Type type = queued.getType() == TaskChangedEvent.Type.CREATED
+                && next.getType() == TaskChangedEvent.Type.UPDATED ? TaskChangedEvent.Type.CREATED : next.getType();
+        return new TaskChangedEvent(type, next.getUsername(), next.getUserId(), next.getTaskId(),
+                queued.getBefore(), next.getAfter());
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(TaskChangedEvent event) {
+        String type = event.getType().name().toLowerCase(Locale.ROOT);
+        return SseEmitter.event()
+                .name(type)
+                .data(new TaskEventResponse(type, event.getTaskId(), event.getAfter()), MediaType.APPLICATION_JSON);
+    }
+
+    private final class Subscriber implements Runnable {
+        private final String username;
+        private final SseEmitter emitter;
+        private final Map<Long, TaskChangedEvent> pending = new LinkedHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private boolean heartbeatDue;
+        private long oldestPendingSince;
+        private Thread sendingThread;
+        private long sendingSince;
+        private boolean sendAborted;
+
+        private Subscriber(String username, SseEmitter emitter) {
+            this.username = username;
+            this.emitter = emitter;
+        }
+
+        boolean offer(TaskChangedEvent event) {
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    oldestPendingSince = System.nanoTime();
+                }
+                pending.put(event.getTaskId(), coalesce(pending.remove(event.getTaskId()), event));
+                if (pending.size() > queueCapacity) {
+                    pending.clear();
+                    return false;
+                }
+            }
+            schedule();
+            return true;
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (closed.get() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                dispatcher.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private synchronized boolean hasWork() {
+            return heartbeatDue || !pending.isEmpty();
+        }
+
+        synchronized boolean isStalled(long now) {
+            if (sendingThread != null && now - sendingSince > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                return true;
+            }
+            return !pending.isEmpty() && now - oldestPendingSince > TimeUnit.MILLISECONDS.toNanos(maxLagMs);
+        }
+
+        /**
+         * Interrupts a write in progress; returns true when none is, so the
+         * caller may complete the emitter without blocking behind the write.
+         */
+        synchronized boolean abortSend() {
+            if (sendingThread == null) {
+                return true;
+            }
+            sendAborted = true;
+            sendingThread.interrupt();
+            return false;
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                // Checked under the monitor so a concurrent abortSend either sees this write or prevents it
+                if (closed.get()) {
+                    throw new IllegalStateException("Subscriber closed");
+                }
+                sendingThread = Thread.currentThread();
+                sendingSince = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sendingThread = null;
+                    // Clear an abort interrupt before the pool thread moves on
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed.get()) {
+                    List<TaskChangedEvent> batch;
+                    boolean heartbeat;
+                    synchronized (this) {
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                        heartbeat = heartbeatDue;
+                        heartbeatDue = false;
+                    }
+                    if (batch.isEmpty() && !heartbeat) {
+                        break;
+                    }
+                    if (batch.isEmpty()) {
+                        send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    for (TaskChangedEvent event : batch) {
+                        send(toSseEvent(event));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(this, false);
+            } finally {
+                boolean completeAbortedStream;
+                synchronized (this) {
+                    completeAbortedStream = sendAborted;
+                    sendAborted = false;
+                }
+                if (completeAbortedStream) {
+                    complete(emitter);
+                }
+                scheduled.set(false);
+                // An offer may have arrived after the last drain but before the flag was cleared
+                if (hasWork()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskmang.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.taskmang.dto.AuditLogDto;
+import com.taskmang.entity.AuditLog;
+
+@Component
+public class AuditLogMapper {
+    public AuditLogDto toDto(AuditLog log) {
+        return new AuditLogDto(
+                log.getId(),
+                log.getAction(),
+                log.getEntityType(),
+                log.getEntityId(),
+                log.getOldValue(),
+                log.getNewValue(),
+                log.getChangedBy() != null ? log.getChangedBy().getUsername() : null,
+                log.getChangedAt());
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskmang.mapper;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.taskmang.dto.request.TaskPatchRequest;
+import com.taskmang.dto.request.TaskRequest;
+import com.taskmang.dto.response.TaskResponse;
+import com.taskmang.entity.Task;
+
+@Component
+public class TaskMapper {
+    public TaskResponse toResponse(Task task) {
+        return new TaskResponse(
+                task.getId(),
+                task.getName(),
+                task.getDescription(),
+                task.getCategory(),
+                task.getDueDate(),
+                task.getStatus(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getVersion());
+    }
+
+    public Task toEntity(TaskRequest request) {
+        Task task = new Task();
+        updateEntity(request, task);
+        return task;
+    }
+
+    public void updateEntity(TaskRequest request, Task task) {
+        task.setName(request.getName());
+        task.setDescription(request.getDescription());
+        task.setCategory(request.getCategory());
+        task.setDueDate(request.getDueDate());
+        task.setStatus(request.getStatus());
+    }
+
+    /**
+     * Applies the non-null fields of the patch and returns the fields that
+     * actually changed, as name -> {old value, new value}.
+     */
+    public Map<String, Object[]> applyPatch(TaskPatchRequest patch, Task task) {
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        patchField(changes, "name", task.getName(), patch.getName(), task::setName);
+        patchField(changes, "description", task.getDescription(), emptyToNull(patch.getDescription()),
+                patch.getDescription() != null, task::setDescription);
+        patchField(changes, "category", task.getCategory(), emptyToNull(patch.getCategory()),
+                patch.getCategory() != null, task::setCategory);
+        patchField(changes, "dueDate", task.getDueDate(), patch.getDueDate(), task::setDueDate);
+        patchField(changes, "status", task.getStatus(), patch.getStatus(), task::setStatus);
+        return changes;
+    }
+
+    public String toAuditDiff(Long taskId, Map<String, Object[]> changes, boolean newValues) {
+        StringJoiner joiner = new StringJoiner(", ", "Task[id=" + taskId + ", ", "]");
+        changes.forEach((field, values) -> joiner.add(field + "='" + values[newValues ? 1 : 0] + "'"));
+        return joiner.toString();
+    }
+
+    public String toAuditString(Task task) {
+        return String.format("Task[id=%d, name='%s', status='%s', dueDate='%s']", 
+                task.getId(), task.getName(), task.getStatus(), task.getDueDate());
+    }
+
+    private static <T> void patchField(Map<String, Object[]> changes, String field, T current, T patched,
+            Consumer<T> setter) {
+        patchField(changes, field, current, patched, patched != null, setter);
+    }
+
+    private static <T> void patchField(Map<String, Object[]> changes, String field, T current, T patched,
+            boolean present, Consumer<T> setter) {
+        if (present && !sameValue(current, patched)) {
+            setter.accept(patched);
+            changes.put(field, new Object[] { current, patched });
+        }
+    }
+
+    // Loaded dates may be java.sql.Timestamp, whose equals() never matches a plain Date
+    private static boolean sameValue(Object current, Object patched) {
+        if (current instanceof Date && patched instanceof Date) {
+            return ((Date) current).getTime() == ((Date) patched).getTime();
+        }
+        return Objects.equals(current, patched);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
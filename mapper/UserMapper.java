@@ -0,0 +1,29 @@
+package com.taskmang.mapper;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.taskmang.dto.response.UserResponse;
+import com.taskmang.entity.Role;
+import com.taskmang.entity.User;
+
+@Component
+public class UserMapper {
+    public UserResponse toResponse(User user) {
+        Set<String> roles = new HashSet<>();
+        for (Role role : user.getRoles()) {
+            roles.add(role.getName().name());
+        }
+
+        return new UserResponse(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getActive(),
+                roles,
+                user.getCreatedAt(),
+                user.getUpdatedAt());
+    }
+}
@@ -2,6 +2,7 @@ package com.taskmang.repository;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +11,9 @@ import com.taskmang.entity.User;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+	@EntityGraph(attributePaths = "changedBy")
 	List<AuditLog> findByEntityTypeAndEntityIdOrderByChangedAtDesc(String entityType, Long entityId);
+	@EntityGraph(attributePaths = "changedBy")
 	List<AuditLog> findByChangedByOrderByChangedAtDesc(User changedBy);
 
 }
@@ -0,0 +1,39 @@
+package com.taskmang.repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.taskmang.entity.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+	@Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user u LEFT JOIN FETCH u.roles WHERE rt.tokenHash = :tokenHash")
+	Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+	// Only one concurrent caller can claim a token; the loser sees 0 and is treated as a replay
+	@Modifying
+	@Query("UPDATE RefreshToken rt SET rt.usedAt = :usedAt WHERE rt.id = :id AND rt.usedAt IS NULL")
+	int markUsed(@Param("id") Long id, @Param("usedAt") Date usedAt);
+
+	@Modifying
+	@Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.familyId = :familyId")
+	int revokeFamily(@Param("familyId") String familyId);
+
+	@Modifying
+	@Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.user.id = :userId AND rt.revoked = false")
+	int revokeAllByUserId(@Param("userId") Long userId);
+
+	@Modifying
+	@Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
+	int deleteAllByUserId(@Param("userId") Long userId);
+
+	@Modifying
+	@Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :cutoff")
+	int deleteExpiredBefore(@Param("cutoff") Date cutoff);
+}
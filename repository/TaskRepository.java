@@ -1,20 +1,86 @@
 package com.taskmang.repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.util.Streamable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.taskmang.dto.response.TaskResponse;
 import com.taskmang.entity.Task;
-import com.taskmang.entity.User;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-	List<Task> findByUser(User user, Sort sort);
-	List<Task> findByUserAndDueDateBetween(User user, Date startDate, Date endDate, Sort sort);
-	List<Task> findByUserAndDueDateAfter(User user, Date date, Sort sort);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+	String TASK_RESPONSE_SELECT = "SELECT new com.taskmang.dto.response.TaskResponse("
+			+ "t.id, t.name, t.description, t.category, t.dueDate, t.status, t.createdAt, t.updatedAt, t.version) "
+			+ "FROM Task t ";
+
+	@Query(TASK_RESPONSE_SELECT + "WHERE t.user.username = :username ORDER BY t.dueDate ASC, t.id ASC")
+	List<TaskResponse> findResponsesByUsername(@Param("username") String username);
+
+	@Query(TASK_RESPONSE_SELECT + "WHERE t.id = :id AND t.user.username = :username")
+	Optional<TaskResponse> findResponseByIdAndUsername(@Param("id") Long id, @Param("username") String username);
+
+	@Query("SELECT t FROM Task t WHERE t.id = :id AND t.user.username = :username")
+	Optional<Task> findByIdAndUsername(@Param("id") Long id, @Param("username") String username);
+
+	@Modifying
+	@Query("DELETE FROM Task t WHERE t.id = :id AND t.version = :version "
+			+ "AND t.user.id = (SELECT u.id FROM User u WHERE u.username = :username)")
+	int deleteByIdAndUsernameAndVersion(@Param("id") Long id, @Param("username") String username,
+			@Param("version") Long version);
+
+	@Query("SELECT COUNT(t), MAX(t.id), MAX(t.updatedAt), SUM(t.version) FROM Task t "
+			+ "WHERE t.user.username = :username")
+	List<Object[]> fingerprintByUsername(@Param("username") String username);
+
+	@Query("SELECT t FROM Task t WHERE t.id IN :ids AND t.user.username = :username")
+	List<Task> findAllByIdInAndUsername(@Param("ids") Collection<Long> ids, @Param("username") String username);
+
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	@Query(TASK_RESPONSE_SELECT + "WHERE t.user.username = :username ORDER BY t.dueDate ASC, t.id ASC")
+	Stream<TaskResponse> streamResponsesByUsername(@Param("username") String username);
+
+	@Query(TASK_RESPONSE_SELECT + "WHERE t.user.username = :username AND t.dueDate BETWEEN :startDate AND :endDate "
+			+ "ORDER BY t.dueDate ASC, t.id ASC")
+	List<TaskResponse> findResponsesByUsernameAndDueDateBetween(@Param("username") String username,
+			@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+	@Query(TASK_RESPONSE_SELECT + "WHERE t.user.username = :username AND t.dueDate > :date "
+			+ "ORDER BY t.dueDate ASC, t.id ASC")
+	List<TaskResponse> findResponsesByUsernameAndDueDateAfter(@Param("username") String username,
+			@Param("date") Date date);
+
+	@Query(TASK_RESPONSE_SELECT + "WHERE t.user.username = :username AND t.dueDate < :date "
+			+ "AND UPPER(t.status) NOT IN :completedStatuses ORDER BY t.dueDate ASC, t.id ASC")
+	List<TaskResponse> findOpenResponsesByUsernameAndDueDateBefore(@Param("username") String username,
+			@Param("date") Date date, @Param("completedStatuses") Collection<String> completedStatuses);
+
+	@Query("SELECT COUNT(t) FROM Task t WHERE t.user.username = :username")
+	long countByUsername(@Param("username") String username);
+
+	@Query(TASK_RESPONSE_SELECT + "WHERE t.user.username = :username AND t.updatedAt > :since "
+			+ "ORDER BY t.updatedAt ASC, t.id ASC")
+	List<TaskResponse> findResponsesByUsernameAndUpdatedAfter(@Param("username") String username,
+			@Param("since") Date since);
+
+	@Query("SELECT t.status, COUNT(t), "
+			+ "SUM(CASE WHEN t.dueDate < :startOfToday THEN 1 ELSE 0 END), "
+			+ "SUM(CASE WHEN t.dueDate >= :startOfToday AND t.dueDate < :startOfTomorrow THEN 1 ELSE 0 END), "
+			+ "SUM(CASE WHEN t.dueDate >= :startOfToday AND t.dueDate < :startOfNextWeek THEN 1 ELSE 0 END) "
+			+ "FROM Task t WHERE t.user.username = :username GROUP BY t.status")
+	List<Object[]> aggregateByStatus(@Param("username") String username, @Param("startOfToday") Date startOfToday,
+			@Param("startOfTomorrow") Date startOfTomorrow, @Param("startOfNextWeek") Date startOfNextWeek);
+
+	@Query("SELECT t.category, COUNT(t) FROM Task t WHERE t.user.username = :username GROUP BY t.category")
+	List<Object[]> countByCategory(@Param("username") String username);
 }
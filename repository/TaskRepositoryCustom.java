@@ -0,0 +1,11 @@
+package com.taskmang.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import com.taskmang.dto.request.TaskFilterRequest;
+import com.taskmang.dto.response.TaskResponse;
+
+public interface TaskRepositoryCustom {
+	List<TaskResponse> findPageByUsername(String username, TaskFilterRequest filter, Date afterDueDate, Long afterId, int limit);
+}
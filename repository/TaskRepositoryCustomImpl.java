@@ -0,0 +1,61 @@
+package com.taskmang.repository;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+import com.taskmang.dto.request.TaskFilterRequest;
+import com.taskmang.dto.response.TaskResponse;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Keyset pagination on (dueDate, id): each page seeks past the last row of the previous one,
+    // so the cost does not grow with how deep the client has paged.
+    @Override
+    public List<TaskResponse> findPageByUsername(String username, TaskFilterRequest filter,
+                                         Date afterDueDate, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(TaskRepository.TASK_RESPONSE_SELECT + "WHERE t.user.username = :username");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("username", username);
+
+        if (filter != null) {
+            if (StringUtils.hasText(filter.getStatus())) {
+                jpql.append(" AND t.status = :status");
+                params.put("status", filter.getStatus());
+            }
+            if (StringUtils.hasText(filter.getCategory())) {
+                jpql.append(" AND t.category = :category");
+                params.put("category", filter.getCategory());
+            }
+            if (filter.getDueFrom() != null) {
+                jpql.append(" AND t.dueDate >= :dueFrom");
+                params.put("dueFrom", filter.getDueFrom());
+            }
+            if (filter.getDueTo() != null) {
+                jpql.append(" AND t.dueDate < :dueTo");
+                params.put("dueTo", filter.getDueTo());
+            }
+        }
+
+        if (afterDueDate != null && afterId != null) {
+            jpql.append(" AND (t.dueDate > :afterDueDate OR (t.dueDate = :afterDueDate AND t.id > :afterId))");
+            params.put("afterDueDate", afterDueDate);
+            params.put("afterId", afterId);
+        }
+
+        jpql.append(" ORDER BY t.dueDate ASC, t.id ASC");
+
+        TypedQuery<TaskResponse> query = entityManager.createQuery(jpql.toString(), TaskResponse.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
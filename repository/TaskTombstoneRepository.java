@@ -0,0 +1,23 @@
+package com.taskmang.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.taskmang.entity.TaskTombstone;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+	@Query("SELECT DISTINCT tt.taskId FROM TaskTombstone tt WHERE tt.deletedAt > :since "
+			+ "AND tt.userId = (SELECT u.id FROM User u WHERE u.username = :username)")
+	List<Long> findTaskIdsDeletedSince(@Param("username") String username, @Param("since") Date since);
+
+	@Modifying
+	@Query("DELETE FROM TaskTombstone tt WHERE tt.deletedAt < :cutoff")
+	int deleteOlderThan(@Param("cutoff") Date cutoff);
+}
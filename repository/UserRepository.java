@@ -1,16 +1,36 @@
 package com.taskmang.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.taskmang.cache.CacheNames;
 import com.taskmang.entity.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+    @Cacheable(cacheNames = CacheNames.USER_IDS, unless = "#result == null")
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+    @Query("SELECT u.username, u.email FROM User u WHERE u.username = :username OR u.email = :email")
+    List<Object[]> findUsernameOrEmailMatches(@Param("username") String username, @Param("email") String email);
+    @EntityGraph(attributePaths = "roles")
+    List<User> findAllBy();
+    @Query("SELECT u.username, u.id FROM User u WHERE u.username IN :usernames")
+    List<Object[]> findIdsByUsernameIn(@Param("usernames") Collection<String> usernames);
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,69 @@
+package com.taskmang.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taskmang.event.TaskChangedEvent;
+
+/**
+ * Per-user search indexes, built on a user's first search and then kept in
+ * sync from committed task changes. Least recently searched users are dropped
+ * once app.search.max-users indexes are held.
+ */
+@Component
+public class TaskSearchIndex {
+    @Value("${app.search.max-users:200}")
+    private int maxUsers;
+
+    private final Map<String, UserTaskIndex> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserTaskIndex> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    public UserTaskIndex get(String username) {
+        synchronized (entries) {
+            return entries.get(username);
+        }
+    }
+
+    /**
+     * Registers an empty index that already receives change events; the
+     * caller streams the user's tasks into it and then calls finishLoading.
+     */
+    public UserTaskIndex startLoading(String username) {
+        UserTaskIndex index = new UserTaskIndex();
+        if (maxUsers > 0) {
+            synchronized (entries) {
+                entries.put(username, index);
+            }
+        }
+        return index;
+    }
+
+    public void evict(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        UserTaskIndex index = get(event.getUsername());
+        if (index == null) {
+            return;
+        }
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            index.remove(event.getTaskId());
+        } else {
+            index.upsert(event.getAfter());
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.taskmang.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.taskmang.dto.response.TaskResponse;
+
+/**
+ * In-memory inverted index over one user's tasks. Terms come from name,
+ * category and description (boosted in that order) and live in a sorted
+ * dictionary, so prefix matches are a range scan and fuzzy candidates can be
+ * narrowed by first letter before computing edit distance. Tasks occupy dense
+ * int slots and postings are primitive arrays, so scoring a term that matches
+ * most of a large index stays allocation-light.
+ */
+public class UserTaskIndex {
+    private static final int NAME_BOOST = 3;
+    private static final int CATEGORY_BOOST = 2;
+    private static final int DESCRIPTION_BOOST = 1;
+    private static final float EXACT_WEIGHT = 1.0f;
+    private static final float PREFIX_WEIGHT = 0.6f;
+    private static final float FUZZY_WEIGHT = 0.4f;
+    private static final int MAX_EXPANSIONS = 200;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_QUERY_TERMS = 10;
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, IndexedTask> tasks = new HashMap<>();
+    private IndexedTask[] slots = new IndexedTask[64];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Deletes seen while the initial load is still streaming, so the load cannot resurrect them
+    private Set<Long> deletedWhileLoading = new HashSet<>();
+
+    public void upsert(TaskResponse task) {
+        lock.writeLock().lock();
+        try {
+            if (deletedWhileLoading != null && deletedWhileLoading.contains(task.getId())) {
+                return;
+            }
+            IndexedTask existing = tasks.get(task.getId());
+            int slot;
+            if (existing != null) {
+                if (isOlder(task, existing.task)) {
+                    return;
+                }
+                removePostings(existing);
+                slot = existing.slot;
+            } else {
+                slot = allocateSlot();
+            }
+            IndexedTask indexed = new IndexedTask(task, slot, termFrequencies(task));
+            tasks.put(task.getId(), indexed);
+            slots[slot] = indexed;
+            indexed.termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new Postings()).add(slot, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            if (deletedWhileLoading != null) {
+                deletedWhileLoading.add(taskId);
+            }
+            IndexedTask existing = tasks.remove(taskId);
+            if (existing != null) {
+                removePostings(existing);
+                slots[existing.slot] = null;
+                if (freeSlotCount == freeSlots.length) {
+                    freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+                }
+                freeSlots[freeSlotCount++] = existing.slot;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishLoading() {
+        lock.writeLock().lock();
+        try {
+            deletedWhileLoading = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // False while the initial load is still streaming tasks in
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return deletedWhileLoading == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every query term must match (exactly, as a prefix, or within a small
+     * edit distance); results are ranked by summed tf-idf, then due date.
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        queryTerms = queryTerms.subList(0, Math.min(queryTerms.size(), MAX_QUERY_TERMS));
+
+        lock.readLock().lock();
+        try {
+            float[] scores = new float[slotCount];
+            float[] termScores = new float[slotCount];
+            int[] matchedTerms = new int[slotCount];
+            int[] touched = new int[0];
+            int touchedCount = 0;
+
+            for (int termIndex = 0; termIndex < queryTerms.size(); termIndex++) {
+                Scorer scorer = new Scorer(termScores, matchedTerms, termIndex, touched);
+                scoreTerm(queryTerms.get(termIndex), scorer);
+                touched = scorer.touched;
+                touchedCount = scorer.touchedCount;
+                // Only tasks that matched every term so far carry over to the next one
+                for (int i = 0; i < touchedCount; i++) {
+                    int slot = touched[i];
+                    scores[slot] += termScores[slot];
+                    termScores[slot] = 0f;
+                    matchedTerms[slot]++;
+                }
+                if (touchedCount == 0) {
+                    return new SearchResult(List.of(), 0);
+                }
+            }
+            return new SearchResult(topHits(scores, touched, touchedCount, offset, limit), touchedCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scoreTerm(String queryTerm, Scorer scorer) {
+        scorer.add(postings.get(queryTerm), EXACT_WEIGHT);
+
+        int expansions = 0;
+        for (Postings matches : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).values()) {
+            if (++expansions > MAX_EXPANSIONS) {
+                break;
+            }
+            scorer.add(matches, PREFIX_WEIGHT);
+        }
+
+        if (queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = queryTerm.length() >= 8 ? 2 : 1;
+            String first = queryTerm.substring(0, 1);
+            for (Map.Entry<String, Postings> entry
+                    : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String term = entry.getKey();
+                if (Math.abs(term.length() - queryTerm.length()) <= maxEdits && !term.startsWith(queryTerm)
+                        && editDistance(queryTerm, term, maxEdits) <= maxEdits) {
+                    scorer.add(entry.getValue(), FUZZY_WEIGHT);
+                }
+            }
+        }
+    }
+
+    private List<TaskResponse> topHits(float[] scores, int[] candidates, int candidateCount, int offset, int limit) {
+        int keep = offset + limit;
+        // Bounded heap holding the best `keep` slots, worst on top
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, keep), (a, b) -> compare(b, a, scores));
+        for (int i = 0; i < candidateCount; i++) {
+            int slot = candidates[i];
+            if (heap.size() < keep) {
+                heap.offer(slot);
+            } else if (compare(slot, heap.peek(), scores) < 0) {
+                heap.poll();
+                heap.offer(slot);
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(heap);
+        ranked.sort((a, b) -> compare(a, b, scores));
+
+        List<TaskResponse> page = new ArrayList<>();
+        for (int i = offset; i < ranked.size(); i++) {
+            page.add(slots[ranked.get(i)].task);
+        }
+        return page;
+    }
+
+    // Higher score first, then earlier due date, then lower id
+    private int compare(int a, int b, float[] scores) {
+        int byScore = Float.compare(scores[b], scores[a]);
+        if (byScore != 0) {
+            return byScore;
+        }
+        TaskResponse first = slots[a].task;
+        TaskResponse second = slots[b].task;
+        Date firstDue = first.getDueDate();
+        Date secondDue = second.getDueDate();
+        if (firstDue != null || secondDue != null) {
+            if (firstDue == null) {
+                return 1;
+            }
+            if (secondDue == null) {
+                return -1;
+            }
+            int byDue = Long.compare(firstDue.getTime(), secondDue.getTime());
+            if (byDue != 0) {
+                return byDue;
+            }
+        }
+        return first.getId().compareTo(second.getId());
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slotCount * 2);
+        }
+        return slotCount++;
+    }
+
+    private void removePostings(IndexedTask indexed) {
+        for (String term : indexed.termFrequencies.keySet()) {
+            Postings matches = postings.get(term);
+            if (matches != null && matches.remove(indexed.slot) && matches.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static boolean isOlder(TaskResponse candidate, TaskResponse current) {
+        return candidate.getVersion() != null && current.getVersion() != null
+                && candidate.getVersion() < current.getVersion();
+    }
+
+    private static Map<String, Integer> termFrequencies(TaskResponse task) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, task.getName(), NAME_BOOST);
+        addTerms(frequencies, task.getCategory(), CATEGORY_BOOST);
+        addTerms(frequencies, task.getDescription(), DESCRIPTION_BOOST);
+        return frequencies;
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int boost) {
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, boost, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // Levenshtein distance that gives up once every cell in a row exceeds maxEdits
+    private static int editDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return rowMin;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Collects the best score per slot for one query term across all of its
+     * expansions, skipping slots that missed an earlier term.
+     */
+    private final class Scorer {
+        private final float[] termScores;
+        private final int[] matchedTerms;
+        private final int requiredMatches;
+        private int[] touched;
+        private int touchedCount;
+
+        private Scorer(float[] termScores, int[] matchedTerms, int requiredMatches, int[] previousTouched) {
+            this.termScores = termScores;
+            this.matchedTerms = matchedTerms;
+            this.requiredMatches = requiredMatches;
+            this.touched = previousTouched.length > 0 ? new int[previousTouched.length] : new int[16];
+        }
+
+        void add(Postings matches, float weight) {
+            if (matches == null) {
+                return;
+            }
+            float idf = (float) Math.log(1.0 + (double) tasks.size() / matches.size);
+            for (int i = 0; i < matches.size; i++) {
+                int slot = matches.slots[i];
+                if (matchedTerms[slot] != requiredMatches) {
+                    continue;
+                }
+                float score = weight * idf * matches.frequencies[i];
+                if (termScores[slot] == 0f) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = slot;
+                    termScores[slot] = score;
+                } else if (score > termScores[slot]) {
+                    termScores[slot] = score;
+                }
+            }
+        }
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        // Order within a posting list does not matter, so removal swaps in the last entry
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class IndexedTask {
+        private final TaskResponse task;
+        private final int slot;
+        private final Map<String, Integer> termFrequencies;
+
+        private IndexedTask(TaskResponse task, int slot, Map<String, Integer> termFrequencies) {
+            this.task = task;
+            this.slot = slot;
+            this.termFrequencies = termFrequencies;
+        }
+    }
+
+    public static final class SearchResult {
+        private final List<TaskResponse> items;
+        private final int total;
+
+        public SearchResult(List<TaskResponse> items, int total) {
+            this.items = items;
+            this.total = total;
+        }
+
+        public List<TaskResponse> getItems() {
+            return items;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
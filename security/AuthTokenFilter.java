@@ -1,6 +1,8 @@
 package com.taskmang.security;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,24 +25,39 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
+    private final UserRevocationList revocationList;
+    private final boolean claimsTrusted;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = jwt != null ? jwtUtils.getClaimsFromJwtToken(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
+
+                if (revocationList.isRevoked(username, claims.getIssuedAt())) {
+                    logger.debug("Rejecting revoked token for user {}", username);
+                } else {
+                    UserDetails userDetails = claimsTrusted ? principalFromClaims(claims) : null;
+                    if (userDetails == null) {
+                        userDetails = loadPrincipal(username);
+                    }
+
+                    if (userDetails.isEnabled()) {
+                        UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities());
+                        authentication.setDetails(detailsSource.buildDetails(request));
+
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    }
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
@@ -48,6 +66,31 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Tokens issued before the uid claim existed fall back to the database lookup.
+    private UserDetails principalFromClaims(Claims claims) {
+        Number id = claims.get("uid", Number.class);
+        List<?> roles = claims.get("roles", List.class);
+        if (id == null || roles == null) {
+            return null;
+        }
+
+        return UserDetailsImpl.fromClaims(
+                id.longValue(),
+                claims.getSubject(),
+                roles.stream().map(String::valueOf).collect(Collectors.toList()));
+    }
+
+    private UserDetails loadPrincipal(String username) {
+        UserDetailsImpl cached = principalCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+        principalCache.put(username, userDetails);
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
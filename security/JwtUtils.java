@@ -2,6 +2,9 @@ package com.taskmang.security;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -11,7 +14,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -30,6 +36,15 @@ public class JwtUtils {
     @Value("${app.jwt.expirationMs}")
     private int jwtExpirationMs;
 
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // Recently verified tokens; an entry is only trusted until the token's own expiry.
+    private final Map<String, Claims> verifiedTokens = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         if (jwtSecret == null || jwtSecret.length() < 32) {
@@ -38,42 +53,69 @@ public class JwtUtils {
         if (jwtExpirationMs <= 0) {
             throw new IllegalStateException("JWT expiration must be a positive number");
         }
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
         logger.info("JWT configured with expiration of {} ms", jwtExpirationMs);
     }
 
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+    }
 
+    public String generateJwtToken(UserDetailsImpl userPrincipal) {
+        Date now = new Date();
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
+                .claim("uid", userPrincipal.getId())
                 .claim("roles", userPrincipal.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        Claims claims = getClaimsFromJwtToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public boolean validateJwtToken(String authToken) {
+        return getClaimsFromJwtToken(authToken) != null;
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or {@code null} if it is
+     * invalid or expired. Repeat calls with the same token are answered from
+     * memory until the token expires.
+     */
+    public Claims getClaimsFromJwtToken(String authToken) {
+        if (authToken == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        Claims cached = verifiedTokens.get(authToken);
+        if (cached != null) {
+            if (isExpired(cached, now)) {
+                verifiedTokens.remove(authToken, cached);
+                logger.error("JWT token is expired: {}", cached.getExpiration());
+                return null;
+            }
+            return cached;
+        }
+
+        Claims claims = parseAndVerify(authToken);
+        if (claims != null && claims.getExpiration() != null) {
+            remember(authToken, claims, now);
+        }
+        return claims;
+    }
+
+    private Claims parseAndVerify(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
-        } catch (SecurityException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -82,7 +124,38 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void remember(String authToken, Claims claims, long now) {
+        if (verifiedCacheSize <= 0) {
+            return;
+        }
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            makeRoom(now);
         }
-        return false;
+        verifiedTokens.put(authToken, claims);
+    }
+
+    // Frees a tenth of the capacity in one pass, so the scan runs at most once per that many new tokens
+    private synchronized void makeRoom(long now) {
+        int target = verifiedCacheSize - Math.max(1, verifiedCacheSize / 10);
+        if (verifiedTokens.size() <= target) {
+            return;
+        }
+        verifiedTokens.values().removeIf(c -> isExpired(c, now));
+        // Still full of live tokens: drop arbitrary ones, they are simply verified again on their next use
+        Iterator<String> it = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static boolean isExpired(Claims claims, long now) {
+        return claims.getExpiration().getTime() <= now;
     }
-}
\ No newline at end of file
+}
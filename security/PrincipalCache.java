@@ -0,0 +1,132 @@
+package com.taskmang.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by username, so
+ * the JWT filter can skip the user/role lookups for users it has seen recently.
+ */
+@Component
+public class PrincipalCache {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Value("${app.security.principal-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    public UserDetailsImpl get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            if (entries.remove(username, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal;
+    }
+
+    public void put(String username, UserDetailsImpl principal) {
+        if (ttlMs <= 0 || maxSize <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize && !entries.containsKey(username)) {
+            makeRoom(now);
+        }
+        entries.put(username, new Entry(principal, now + ttlMs));
+    }
+
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        remove(username);
+        // A concurrent request may re-cache the pre-commit state, so evict again once the change is visible.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(username);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        int size = entries.size();
+        entries.clear();
+        evictions.add(size);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void remove(String username) {
+        if (entries.remove(username) != null) {
+            evictions.increment();
+        }
+    }
+
+    // Only runs when the cache is full: drop expired entries first, then the one closest to expiry.
+    private void makeRoom(long now) {
+        String oldestKey = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            long expiresAt = e.getValue().expiresAt;
+            if (expiresAt <= now) {
+                it.remove();
+                evictions.increment();
+            } else if (expiresAt < oldestExpiry) {
+                oldestExpiry = expiresAt;
+                oldestKey = e.getKey();
+            }
+        }
+        if (entries.size() >= maxSize && oldestKey != null && entries.remove(oldestKey) != null) {
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry {
+        private final UserDetailsImpl principal;
+        private final long expiresAt;
+
+        private Entry(UserDetailsImpl principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskmang.security;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.taskmang.entity.Role;
+import com.taskmang.enums.ERole;
+import com.taskmang.exception.ResourceNotFoundException;
+import com.taskmang.repository.RoleRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Immutable snapshot of the role table, loaded once at startup. Roles are
+ * reference data, so signup and user updates resolve them from here instead of
+ * querying per requested role. A lookup for a role missing from the snapshot
+ * reloads it once, which picks up roles seeded after startup.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<ERole, Role> roles = Collections.emptyMap();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        Map<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        roles = Collections.unmodifiableMap(loaded);
+        logger.info("Loaded roles {}", loaded.keySet());
+    }
+
+    public Role get(ERole name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            refresh();
+            role = roles.get(name);
+            if (role == null) {
+                throw new ResourceNotFoundException("Role not found: " + name);
+            }
+        }
+        return role;
+    }
+
+    /** Maps requested role names ("admin", anything else is a user) to roles; none requested means ROLE_USER. */
+    public Set<Role> resolve(Collection<String> requested) {
+        Set<Role> resolved = new HashSet<>();
+        if (requested == null || requested.isEmpty()) {
+            resolved.add(get(ERole.ROLE_USER));
+            return resolved;
+        }
+        for (String role : requested) {
+            resolved.add(get("admin".equalsIgnoreCase(role) ? ERole.ROLE_ADMIN : ERole.ROLE_USER));
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,46 @@
+package com.taskmang.security;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory list of users whose previously issued tokens must no longer be
+ * honoured (deactivated, deleted or modified accounts). An entry only needs to
+ * outlive the tokens it guards, so it is dropped after one JWT lifetime.
+ */
+@Component
+public class UserRevocationList {
+    private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+    @Value("${app.jwt.expirationMs}")
+    private long jwtExpirationMs;
+
+    public void revoke(String username) {
+        if (username != null) {
+            long now = System.currentTimeMillis();
+            revokedAt.values().removeIf(revokedMillis -> revokedMillis + jwtExpirationMs <= now);
+            revokedAt.put(username, now);
+        }
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        Long revokedMillis = revokedAt.get(username);
+        if (revokedMillis == null) {
+            return false;
+        }
+        if (revokedMillis + jwtExpirationMs <= System.currentTimeMillis()) {
+            revokedAt.remove(username, revokedMillis);
+            return false;
+        }
+        // iat only has second precision, so a token from the revocation second is treated as revoked
+        return issuedAt == null || issuedAt.getTime() / 1000 <= revokedMillis / 1000;
+    }
+
+    public int size() {
+        return revokedAt.size();
+    }
+}
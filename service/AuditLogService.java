@@ -1,11 +1,15 @@
 package com.taskmang.service;
 
 import java.util.List;
+import java.util.Map;
 
+import com.taskmang.audit.AuditEvent;
 import com.taskmang.dto.AuditLogDto;
 
 public interface AuditLogService {
     void logAction(String action, String entityType, Long entityId, String oldValue, String newValue, String username);
+    void logActions(List<AuditEvent> events);
     List<AuditLogDto> getLogsForEntity(String entityType, Long entityId);
     List<AuditLogDto> getLogsForUser(String username);
+    Map<String, Object> getWriterMetrics();
 }
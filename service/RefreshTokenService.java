@@ -0,0 +1,11 @@
+package com.taskmang.service;
+
+import com.taskmang.dto.response.JwtResponse;
+import com.taskmang.security.UserDetailsImpl;
+
+public interface RefreshTokenService {
+	JwtResponse issueTokens(UserDetailsImpl userDetails);
+	JwtResponse refresh(String refreshToken);
+	void revokeAllForUser(Long userId);
+	void deleteAllForUser(Long userId);
+}
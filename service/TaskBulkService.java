@@ -0,0 +1,10 @@
+package com.taskmang.service;
+
+import java.util.List;
+
+import com.taskmang.dto.request.BulkTaskOperation;
+import com.taskmang.dto.response.BulkTaskResponse;
+
+public interface TaskBulkService {
+	BulkTaskResponse execute(String username, List<BulkTaskOperation> operations);
+}
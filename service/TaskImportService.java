@@ -0,0 +1,10 @@
+package com.taskmang.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.taskmang.dto.response.TaskImportStatus;
+
+public interface TaskImportService {
+	TaskImportStatus startImport(String username, MultipartFile file);
+	TaskImportStatus getStatus(String username, String jobId);
+}
@@ -1,18 +1,32 @@
 package com.taskmang.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
+import com.taskmang.dto.request.TaskFilterRequest;
+import com.taskmang.dto.request.TaskPatchRequest;
 import com.taskmang.dto.request.TaskRequest;
+import com.taskmang.dto.response.TaskPageResponse;
 import com.taskmang.dto.response.TaskResponse;
+import com.taskmang.dto.response.TaskSearchResponse;
+import com.taskmang.dto.response.TaskStatsResponse;
+import com.taskmang.enums.ExportFormat;
 
 public interface TaskService {
 	List<TaskResponse> findAllByUser(String username);
+	List<TaskResponse> findAllByUser(String username, String listVersion);
+	TaskPageResponse findPageByUser(String username, TaskFilterRequest filter, String cursor, Integer limit);
 	TaskResponse findById(Long taskId, String username);
 	TaskResponse create(String username, TaskRequest taskRequest);
-	TaskResponse update(Long taskId, String username, TaskRequest taskRequest);
-	void delete(Long taskId, String username);
-	byte[] exportTasks(String username, String format);
+	TaskResponse update(Long taskId, String username, TaskRequest taskRequest, Long expectedVersion);
+	TaskResponse patch(Long taskId, String username, TaskPatchRequest patchRequest, Long expectedVersion);
+	void delete(Long taskId, String username, Long expectedVersion);
+	String getTaskListVersion(String username);
+	void exportTasks(String username, ExportFormat format, OutputStream outputStream) throws IOException;
 	List<TaskResponse> findTasksDueToday(String username);
 	List<TaskResponse> findUpcomingTasks(String username);
-	Object getTaskStats(String username);
+	List<TaskResponse> findOverdueTasks(String username);
+	TaskStatsResponse getTaskStats(String username);
+	TaskSearchResponse searchTasks(String username, String query, Integer page, Integer size);
 }
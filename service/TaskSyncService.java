@@ -0,0 +1,7 @@
+package com.taskmang.service;
+
+import com.taskmang.dto.response.TaskChangesResponse;
+
+public interface TaskSyncService {
+	TaskChangesResponse getChanges(String username, String since);
+}
@@ -9,11 +9,13 @@ import com.taskmang.entity.User;
 
 public interface UserService {
 	Optional<User> findByUsername(String username);
+	Optional<User> findReferenceByUsername(String username);
 	Optional<User> findByEmail(String email);
 	Boolean existsByUsername(String username);
 	Boolean existsByEmail(String email);
-	UserResponse registerUser(SignupRequest signUpRequest);
-	UserResponse updateUser(Long userId, SignupRequest signUpRequest);
+	void checkAvailable(String username, String email);
+	UserResponse registerUser(SignupRequest signUpRequest, String passwordHash);
+	UserResponse updateUser(Long userId, SignupRequest signUpRequest, String passwordHash);
 	void deleteUser(Long userId);
 	void deactivateUser(Long userId);
 	void activateUser(Long userId);
@@ -1,15 +1,20 @@
 package com.taskmang.service.impl;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.taskmang.audit.AuditEvent;
+import com.taskmang.audit.AuditLogWriter;
 import com.taskmang.dto.AuditLogDto;
-import com.taskmang.entity.AuditLog;
 import com.taskmang.entity.User;
+import com.taskmang.mapper.AuditLogMapper;
 import com.taskmang.repository.AuditLogRepository;
 import com.taskmang.repository.UserRepository;
 import com.taskmang.service.AuditLogService;
@@ -19,26 +24,51 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class AuditLogServiceImpl implements AuditLogService {
+    private static final Object PENDING_EVENTS_KEY = new Object();
+
     private final AuditLogRepository auditLogRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final AuditLogMapper auditLogMapper;
+    private final AuditLogWriter auditLogWriter;
 
     @Override
-    @Transactional
     public void logAction(String action, String entityType, Long entityId, 
                         String oldValue, String newValue, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        logActions(List.of(new AuditEvent(action, entityType, entityId, oldValue, newValue, username)));
+    }
 
-        AuditLog auditLog = new AuditLog();
-        auditLog.setAction(action);
-        auditLog.setEntityType(entityType);
-        auditLog.setEntityId(entityId);
-        auditLog.setOldValue(oldValue);
-        auditLog.setNewValue(newValue);
-        auditLog.setChangedBy(user);
+    @Override
+    public void logActions(List<AuditEvent> events) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogWriter.enqueue(events);
+            return;
+        }
 
-        auditLogRepository.save(auditLog);
+        // Outbox semantics: events of a transaction are handed to the writer only once it commits
+        @SuppressWarnings("unchecked")
+        List<AuditEvent> pending = (List<AuditEvent>) TransactionSynchronizationManager.getResource(PENDING_EVENTS_KEY);
+        if (pending == null) {
+            List<AuditEvent> committed = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(PENDING_EVENTS_KEY, committed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditLogWriter.enqueue(committed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_EVENTS_KEY);
+                }
+            });
+            pending = committed;
+        }
+        pending.addAll(events);
+    }
+
+    @Override
+    public Map<String, Object> getWriterMetrics() {
+        return auditLogWriter.getMetrics();
     }
 
     @Override
@@ -46,7 +76,7 @@ public class AuditLogServiceImpl implements AuditLogService {
     public List<AuditLogDto> getLogsForEntity(String entityType, Long entityId) {
         return auditLogRepository.findByEntityTypeAndEntityIdOrderByChangedAtDesc(entityType, entityId)
                 .stream()
-                .map(log -> modelMapper.map(log, AuditLogDto.class))
+                .map(auditLogMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -58,7 +88,7 @@ public class AuditLogServiceImpl implements AuditLogService {
 
         return auditLogRepository.findByChangedByOrderByChangedAtDesc(user)
                 .stream()
-                .map(log -> modelMapper.map(log, AuditLogDto.class))
+                .map(auditLogMapper::toDto)
                 .collect(Collectors.toList());
     }
 }
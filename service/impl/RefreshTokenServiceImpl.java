@@ -0,0 +1,142 @@
+package com.taskmang.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskmang.dto.response.JwtResponse;
+import com.taskmang.entity.RefreshToken;
+import com.taskmang.entity.User;
+import com.taskmang.exception.UnauthorizedException;
+import com.taskmang.repository.RefreshTokenRepository;
+import com.taskmang.repository.UserRepository;
+import com.taskmang.security.JwtUtils;
+import com.taskmang.security.UserDetailsImpl;
+import com.taskmang.service.RefreshTokenService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtils jwtUtils;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.jwt.refresh-expiration-ms:2592000000}")
+    private long refreshExpirationMs;
+
+    @Override
+    @Transactional
+    public JwtResponse issueTokens(UserDetailsImpl userDetails) {
+        User user = userRepository.getReferenceById(userDetails.getId());
+        String refreshToken = createToken(user, UUID.randomUUID().toString());
+        return toResponse(userDetails, refreshToken);
+    }
+
+    // Replays must still revoke the family, so failures here do not roll the transaction back
+    @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public JwtResponse refresh(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(refreshToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (current.isRevoked() || current.getExpiresAt().before(new Date())) {
+            throw new UnauthorizedException("Refresh token is expired or revoked");
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), new Date()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            logger.warn("Refresh token reuse detected for user {}, revoking token family",
+                    current.getUser().getUsername());
+            throw new UnauthorizedException("Refresh token has already been used, please sign in again");
+        }
+
+        User user = current.getUser();
+        if (Boolean.FALSE.equals(user.getActive())) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new UnauthorizedException("User account is disabled");
+        }
+
+        String rotated = createToken(user, current.getFamilyId());
+        return toResponse(UserDetailsImpl.build(user), rotated);
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllForUser(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpiredTokens() {
+        int purged = refreshTokenRepository.deleteExpiredBefore(new Date());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String createToken(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(new Date(System.currentTimeMillis() + refreshExpirationMs))
+                .build());
+        return token;
+    }
+
+    private JwtResponse toResponse(UserDetailsImpl userDetails, String refreshToken) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
+        return JwtResponse.builder()
+                .token(jwtUtils.generateJwtToken(userDetails))
+                .refreshToken(refreshToken)
+                .id(userDetails.getId())
+                .username(userDetails.getUsername())
+                .email(userDetails.getEmail())
+                .roles(roles)
+                .build();
+    }
+
+    // The token carries 256 random bits, so a fast unsalted digest is enough to protect it at rest
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.taskmang.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskmang.audit.AuditEvent;
+import com.taskmang.dto.request.BulkTaskOperation;
+import com.taskmang.dto.request.TaskRequest;
+import com.taskmang.dto.response.BulkTaskResponse;
+import com.taskmang.dto.response.BulkTaskResult;
+import com.taskmang.dto.response.TaskResponse;
+import com.taskmang.entity.Task;
+import com.taskmang.entity.User;
+import com.taskmang.event.TaskChangedEvent;
+import com.taskmang.exception.ResourceNotFoundException;
+import com.taskmang.mapper.TaskMapper;
+import com.taskmang.repository.TaskRepository;
+import com.taskmang.service.AuditLogService;
+import com.taskmang.service.TaskBulkService;
+import com.taskmang.service.UserService;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class TaskBulkServiceImpl implements TaskBulkService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskBulkServiceImpl.class);
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final TaskMapper taskMapper;
+    private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${app.tasks.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public BulkTaskResponse execute(String username, List<BulkTaskOperation> operations) {
+        User user = userService.findReferenceByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        List<BulkTaskResult> results = new ArrayList<>(operations.size());
+        for (int start = 0; start < operations.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, operations.size());
+            results.addAll(executeChunk(user, username, operations.subList(start, end), start));
+        }
+
+        int succeeded = (int) results.stream().filter(BulkTaskResult::isSuccess).count();
+        return new BulkTaskResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
+    private List<BulkTaskResult> executeChunk(User user, String username, List<BulkTaskOperation> chunk, int offset) {
+        BulkTaskResult[] results = new BulkTaskResult[chunk.size()];
+        List<Integer> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkTaskOperation operation = chunk.get(i);
+            String error = validate(operation);
+            if (error != null) {
+                results[i] = BulkTaskResult.failed(offset + i, operation.getType(), operation.getTaskId(), error);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> applyChunk(user, username, chunk, valid, offset, results));
+            } catch (RuntimeException e) {
+                logger.error("Bulk chunk at offset {} rolled back", offset, e);
+                for (int i : valid) {
+                    BulkTaskOperation operation = chunk.get(i);
+                    results[i] = BulkTaskResult.failed(offset + i, operation.getType(), operation.getTaskId(),
+                            "Chunk rolled back because another operation in it failed");
+                }
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private void applyChunk(User user, String username, List<BulkTaskOperation> chunk, List<Integer> valid,
+                            int offset, BulkTaskResult[] results) {
+        // One query resolves every task this chunk updates or deletes, already scoped to the caller
+        Set<Long> ids = new HashSet<>();
+        for (int i : valid) {
+            if (chunk.get(i).getTaskId() != null) {
+                ids.add(chunk.get(i).getTaskId());
+            }
+        }
+        Map<Long, Task> owned = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Task task : taskRepository.findAllByIdInAndUsername(ids, username)) {
+                owned.put(task.getId(), task);
+            }
+        }
+
+        List<Task> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        List<Task> deleted = new ArrayList<>();
+        List<AuditEvent> auditEvents = new ArrayList<>();
+        List<TaskChangedEvent> changes = new ArrayList<>();
+        // State before the chunk of each updated task; events are built after the flush bumps version/updatedAt
+        Map<Long, TaskResponse> updatedBefore = new LinkedHashMap<>();
+
+        for (int i : valid) {
+            BulkTaskOperation operation = chunk.get(i);
+            switch (operation.getType()) {
+                case CREATE: {
+                    Task task = taskMapper.toEntity(operation.getTask());
+                    task.setUser(user);
+                    created.add(task);
+                    createdIndexes.add(i);
+                    break;
+                }
+                case UPDATE: {
+                    Task task = owned.get(operation.getTaskId());
+                    if (task == null) {
+                        results[i] = notFound(offset + i, operation);
+                        break;
+                    }
+                    String oldTask = taskMapper.toAuditString(task);
+                    updatedBefore.putIfAbsent(task.getId(), taskMapper.toResponse(task));
+                    taskMapper.updateEntity(operation.getTask(), task);
+                    auditEvents.add(new AuditEvent("UPDATE", "TASK", task.getId(), oldTask,
+                            taskMapper.toAuditString(task), username));
+                    results[i] = BulkTaskResult.ok(offset + i, operation.getType(), task.getId());
+                    break;
+                }
+                case DELETE: {
+                    Task task = owned.remove(operation.getTaskId());
+                    if (task == null) {
+                        results[i] = notFound(offset + i, operation);
+                        break;
+                    }
+                    deleted.add(task);
+                    auditEvents.add(new AuditEvent("DELETE", "TASK", task.getId(),
+                            taskMapper.toAuditString(task), null, username));
+                    TaskResponse before = updatedBefore.remove(task.getId());
+                    changes.add(TaskChangedEvent.deleted(username, user.getId(),
+                            before != null ? before : taskMapper.toResponse(task)));
+                    results[i] = BulkTaskResult.ok(offset + i, operation.getType(), task.getId());
+                    break;
+                }
+            }
+        }
+
+        if (!created.isEmpty()) {
+            taskRepository.saveAll(created);
+            for (int k = 0; k < created.size(); k++) {
+                Task task = created.get(k);
+                int i = createdIndexes.get(k);
+                auditEvents.add(new AuditEvent("CREATE", "TASK", task.getId(), null,
+                        taskMapper.toAuditString(task), username));
+                results[i] = BulkTaskResult.ok(offset + i, chunk.get(i).getType(), task.getId());
+            }
+        }
+        if (!deleted.isEmpty()) {
+            taskRepository.deleteAllInBatch(deleted);
+        }
+        taskRepository.flush();
+
+        for (Map.Entry<Long, TaskResponse> entry : updatedBefore.entrySet()) {
+            Task task = owned.get(entry.getKey());
+            changes.add(TaskChangedEvent.updated(username, user.getId(), entry.getValue(), taskMapper.toResponse(task)));
+        }
+        for (Task task : created) {
+            changes.add(TaskChangedEvent.created(username, user.getId(), taskMapper.toResponse(task)));
+        }
+
+        auditLogService.logActions(auditEvents);
+        changes.forEach(eventPublisher::publishEvent);
+    }
+
+    private BulkTaskResult notFound(int index, BulkTaskOperation operation) {
+        return BulkTaskResult.failed(index, operation.getType(), operation.getTaskId(), "Task not found");
+    }
+
+    private String validate(BulkTaskOperation operation) {
+        if (operation == null || operation.getType() == null) {
+            return "Operation type is required";
+        }
+        switch (operation.getType()) {
+            case DELETE:
+                return operation.getTaskId() == null ? "taskId is required" : null;
+            case UPDATE:
+                if (operation.getTaskId() == null) {
+                    return "taskId is required";
+                }
+                return validateTask(operation.getTask());
+            default:
+                return validateTask(operation.getTask());
+        }
+    }
+
+    private String validateTask(TaskRequest task) {
+        if (task == null) {
+            return "task is required";
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
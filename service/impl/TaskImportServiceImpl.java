@@ -0,0 +1,314 @@
+package com.taskmang.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.taskmang.dto.request.BulkTaskOperation;
+import com.taskmang.dto.request.TaskRequest;
+import com.taskmang.dto.response.BulkTaskResponse;
+import com.taskmang.dto.response.BulkTaskResult;
+import com.taskmang.dto.response.TaskImportStatus;
+import com.taskmang.enums.BulkOperationType;
+import com.taskmang.enums.ExportFormat;
+import com.taskmang.exception.BadRequestException;
+import com.taskmang.exception.ResourceNotFoundException;
+import com.taskmang.exception.TooManyRequestsException;
+import com.taskmang.service.TaskBulkService;
+import com.taskmang.service.TaskImportService;
+import com.taskmang.util.CsvRowReader;
+import com.taskmang.util.ExcelRowReader;
+import com.taskmang.util.VirtualThreads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class TaskImportServiceImpl implements TaskImportService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportServiceImpl.class);
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final long FINISHED_JOB_RETENTION_MS = TimeUnit.HOURS.toMillis(1);
+    private static final DateTimeFormatter SPACE_SEPARATED = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+
+    private final TaskBulkService taskBulkService;
+    private final CsvRowReader csvRowReader;
+    private final ExcelRowReader excelRowReader;
+
+    @Value("${app.tasks.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.tasks.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${app.tasks.import.max-queued-jobs:20}")
+    private int maxQueuedJobs;
+
+    @Value("${app.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        ThreadFactory threadFactory = virtualThreads && VirtualThreads.isSupported()
+                ? VirtualThreads.threadFactory("task-import-")
+                : Executors.defaultThreadFactory();
+        executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxQueuedJobs), threadFactory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public TaskImportStatus startImport(String username, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        ExportFormat format = ExportFormat.from(extensionOf(file.getOriginalFilename()));
+        purgeFinishedJobs();
+
+        Path upload;
+        try {
+            upload = Files.createTempFile("task-import-", "." + format.getExtension());
+            file.transferTo(upload);
+        } catch (IOException e) {
+            throw new BadRequestException("Could not store import file: " + e.getMessage());
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), username, file.getOriginalFilename());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> runImport(job, format, upload));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(upload);
+            throw new TooManyRequestsException("Too many imports in progress, try again later");
+        }
+        return job.toStatus();
+    }
+
+    @Override
+    public TaskImportStatus getStatus(String username, String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.username.equals(username)) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job.toStatus();
+    }
+
+    private void runImport(ImportJob job, ExportFormat format, Path upload) {
+        job.status = "RUNNING";
+        ImportBatch batch = new ImportBatch(job);
+        try {
+            if (format == ExportFormat.XLSX) {
+                excelRowReader.read(upload.toFile(), batch::onRow);
+            } else {
+                try (InputStream in = Files.newInputStream(upload)) {
+                    csvRowReader.read(in, batch::onRow);
+                }
+            }
+            batch.flush();
+            job.finish("COMPLETED", null);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Task import {} failed: {}", job.id, e.getMessage());
+            job.finish("FAILED", e.getMessage());
+        } finally {
+            deleteQuietly(upload);
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - FINISHED_JOB_RETENTION_MS;
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.getTime() < cutoff);
+    }
+
+    private static String extensionOf(String fileName) {
+        int dot = fileName == null ? -1 : fileName.lastIndexOf('.');
+        return dot < 0 ? null : fileName.substring(dot + 1);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary import file {}", path);
+        }
+    }
+
+    static Date parseDate(String value) {
+        String text = value.trim();
+        try {
+            return Date.from(Instant.parse(text));
+        } catch (DateTimeParseException ignored) {
+            // try the local formats below
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        try {
+            return Date.from(LocalDateTime.parse(text).atZone(zone).toInstant());
+        } catch (DateTimeParseException ignored) {
+            // try the next format
+        }
+        try {
+            return Date.from(LocalDateTime.parse(text, SPACE_SEPARATED).atZone(zone).toInstant());
+        } catch (DateTimeParseException ignored) {
+            // try the next format
+        }
+        return Date.from(LocalDate.parse(text).atStartOfDay(zone).toInstant());
+    }
+
+    // Turns rows into CREATE operations and hands them to the bulk service one batch at a time
+    private final class ImportBatch {
+        private final ImportJob job;
+        private final List<BulkTaskOperation> operations = new ArrayList<>();
+        private final List<Integer> rowNumbers = new ArrayList<>();
+        private Map<String, Integer> columns;
+
+        private ImportBatch(ImportJob job) {
+            this.job = job;
+        }
+
+        void onRow(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                columns = readHeader(cells);
+                return;
+            }
+            job.processedRows.incrementAndGet();
+            try {
+                operations.add(new BulkTaskOperation(BulkOperationType.CREATE, null, toTaskRequest(cells)));
+                rowNumbers.add(rowNumber);
+            } catch (DateTimeParseException e) {
+                job.fail(rowNumber, "invalid due date '" + e.getParsedString() + "'");
+            }
+            if (operations.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (operations.isEmpty()) {
+                return;
+            }
+            BulkTaskResponse response = taskBulkService.execute(job.username, operations);
+            job.importedRows.addAndGet(response.getSucceeded());
+            for (BulkTaskResult result : response.getResults()) {
+                if (!result.isSuccess()) {
+                    job.fail(rowNumbers.get(result.getIndex()), result.getError());
+                }
+            }
+            operations.clear();
+            rowNumbers.clear();
+        }
+
+        private Map<String, Integer> readHeader(List<String> cells) {
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String name = cells.get(i) == null ? "" : cells.get(i).replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+                header.putIfAbsent(name, i);
+            }
+            for (String required : List.of("name", "duedate", "status")) {
+                if (!header.containsKey(required)) {
+                    throw new BadRequestException("Missing required column: " + required);
+                }
+            }
+            return header;
+        }
+
+        private TaskRequest toTaskRequest(List<String> cells) {
+            String dueDate = cell(cells, "duedate");
+            return TaskRequest.builder()
+                    .name(cell(cells, "name"))
+                    .description(cell(cells, "description"))
+                    .category(cell(cells, "category"))
+                    .dueDate(dueDate == null ? null : parseDate(dueDate))
+                    .status(cell(cells, "status"))
+                    .build();
+        }
+
+        private String cell(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private final String username;
+        private final String fileName;
+        private final Date startedAt = new Date();
+        private final AtomicLong processedRows = new AtomicLong();
+        private final AtomicLong importedRows = new AtomicLong();
+        private final AtomicLong failedRows = new AtomicLong();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "PENDING";
+        private volatile String message;
+        private volatile Date finishedAt;
+
+        private ImportJob(String id, String username, String fileName) {
+            this.id = id;
+            this.username = username;
+            this.fileName = fileName;
+        }
+
+        void fail(int rowNumber, String error) {
+            failedRows.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + rowNumber + ": " + error);
+            }
+        }
+
+        void finish(String finalStatus, String finalMessage) {
+            message = finalMessage;
+            finishedAt = new Date();
+            status = finalStatus;
+        }
+
+        TaskImportStatus toStatus() {
+            List<String> snapshot;
+            synchronized (errors) {
+                snapshot = new ArrayList<>(errors);
+            }
+            return new TaskImportStatus(id, status, fileName, processedRows.get(), importedRows.get(),
+                    failedRows.get(), snapshot, message, startedAt, finishedAt);
+        }
+    }
+}
@@ -1,168 +1,441 @@
 package com.taskmang.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.taskmang.cache.CacheNames;
+import com.taskmang.cache.TaskDueDateCache;
+import com.taskmang.cache.TaskListSnapshot;
+import com.taskmang.cache.TaskStatsCache;
+import com.taskmang.cache.UserDueDateIndex;
+import com.taskmang.cache.UserTaskStats;
+import com.taskmang.dto.request.TaskFilterRequest;
+import com.taskmang.dto.request.TaskPatchRequest;
 import com.taskmang.dto.request.TaskRequest;
+import com.taskmang.dto.response.TaskPageResponse;
 import com.taskmang.dto.response.TaskResponse;
+import com.taskmang.dto.response.TaskSearchResponse;
+import com.taskmang.dto.response.TaskStatsResponse;
 import com.taskmang.entity.Task;
 import com.taskmang.entity.User;
+import com.taskmang.enums.ExportFormat;
+import com.taskmang.event.TaskChangedEvent;
+import com.taskmang.exception.BadRequestException;
+import com.taskmang.exception.PreconditionFailedException;
 import com.taskmang.exception.ResourceNotFoundException;
+import com.taskmang.mapper.TaskMapper;
 import com.taskmang.repository.TaskRepository;
+import com.taskmang.search.TaskSearchIndex;
+import com.taskmang.search.UserTaskIndex;
 import com.taskmang.service.AuditLogService;
 import com.taskmang.service.TaskService;
 import com.taskmang.service.UserService;
+import com.taskmang.util.CsvExporter;
+import com.taskmang.util.ExcelExporter;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+    private static final int MAX_STATS_LOAD_ATTEMPTS = 2;
+
     private final TaskRepository taskRepository;
     private final UserService userService;
-    private final ModelMapper modelMapper;
+    private final TaskMapper taskMapper;
     private final AuditLogService auditLogService;
+    private final TaskStatsCache taskStatsCache;
+    private final TaskDueDateCache taskDueDateCache;
+    private final TaskSearchIndex taskSearchIndex;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final CsvExporter csvExporter;
+    private final ExcelExporter excelExporter;
 
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponse> findAllByUser(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        return taskRepository.findByUser(user, Sort.by(Sort.Direction.ASC, "dueDate"))
-                .stream()
-                .map(task -> modelMapper.map(task, TaskResponse.class))
-                .collect(Collectors.toList());
+        return taskRepository.findResponsesByUsername(username);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> findAllByUser(String username, String listVersion) {
+        Cache cache = cacheManager.getCache(CacheNames.TASK_LISTS);
+        TaskListSnapshot cached = cache.get(username, TaskListSnapshot.class);
+        if (cached != null && cached.getListVersion().equals(listVersion)) {
+            return cached.getItems();
+        }
+        List<TaskResponse> items = taskRepository.findResponsesByUsername(username);
+        // Only cache a list known to match the version it is stored under; a write may have committed meanwhile
+        if (listVersion.equals(getTaskListVersion(username))) {
+            cache.put(username, new TaskListSnapshot(listVersion, items));
+        }
+        return items;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponse findPageByUser(String username, TaskFilterRequest filter, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        if (filter != null && filter.getDueFrom() != null && filter.getDueTo() != null
+                && filter.getDueFrom().after(filter.getDueTo())) {
+            throw new BadRequestException("dueFrom must not be after dueTo");
+        }
+
+        Date afterDueDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            long[] position = decodeCursor(cursor);
+            afterDueDate = new Date(position[0]);
+            afterId = position[1];
+        }
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<TaskResponse> items = taskRepository.findPageByUsername(username, filter, afterDueDate, afterId, pageSize + 1);
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            TaskResponse last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getDueDate().getTime(), last.getId());
+        }
+
+        return new TaskPageResponse(items, nextCursor, hasMore);
     }
 
     @Override
     @Transactional(readOnly = true)
     public TaskResponse findById(Long taskId, String username) {
-        Task task = taskRepository.findById(taskId)
+        return taskRepository.findResponseByIdAndUsername(taskId, username)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-        
-        if (!task.getUser().getUsername().equals(username)) {
-            throw new ResourceNotFoundException("Task not found for this user");
-        }
-        
-        return modelMapper.map(task, TaskResponse.class);
     }
 
     @Override
     @Transactional
     public TaskResponse create(String username, TaskRequest taskRequest) {
-        User user = userService.findByUsername(username)
+        User user = userService.findReferenceByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        Task task = modelMapper.map(taskRequest, Task.class);
+        Task task = taskMapper.toEntity(taskRequest);
         task.setUser(user);
         Task savedTask = taskRepository.save(task);
         
         auditLogService.logAction("CREATE", "TASK", savedTask.getId(), null, 
-            taskToString(savedTask), username);
+            taskMapper.toAuditString(savedTask), username);
         
-        return modelMapper.map(savedTask, TaskResponse.class);
+        TaskResponse response = taskMapper.toResponse(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.created(username, user.getId(), response));
+        return response;
     }
 
     @Override
     @Transactional
-    public TaskResponse update(Long taskId, String username, TaskRequest taskRequest) {
-        Task task = taskRepository.findById(taskId)
+    public TaskResponse update(Long taskId, String username, TaskRequest taskRequest, Long expectedVersion) {
+        Task task = taskRepository.findByIdAndUsername(taskId, username)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        checkVersion(task, expectedVersion);
         
-        if (!task.getUser().getUsername().equals(username)) {
-            throw new ResourceNotFoundException("Task not found for this user");
-        }
-        
-        String oldTask = taskToString(task);
-        modelMapper.map(taskRequest, task);
-        Task updatedTask = taskRepository.save(task);
+        String oldTask = taskMapper.toAuditString(task);
+        TaskResponse before = taskMapper.toResponse(task);
+        taskMapper.updateEntity(taskRequest, task);
+        // Flush so the response carries the incremented version
+        Task updatedTask = taskRepository.saveAndFlush(task);
         
         auditLogService.logAction("UPDATE", "TASK", taskId, oldTask, 
-            taskToString(updatedTask), username);
+            taskMapper.toAuditString(updatedTask), username);
+        
+        TaskResponse response = taskMapper.toResponse(updatedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(username, task.getUser().getId(), before, response));
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public TaskResponse patch(Long taskId, String username, TaskPatchRequest patchRequest, Long expectedVersion) {
+        Task task = taskRepository.findByIdAndUsername(taskId, username)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        checkVersion(task, expectedVersion);
+        
+        TaskResponse before = taskMapper.toResponse(task);
+        Map<String, Object[]> changes = taskMapper.applyPatch(patchRequest, task);
+        if (changes.isEmpty()) {
+            return before;
+        }
+        
+        // Flush so updatedAt and version reflect the UPDATE, which only touches the changed columns
+        taskRepository.flush();
+        auditLogService.logAction("UPDATE", "TASK", taskId, taskMapper.toAuditDiff(taskId, changes, false),
+            taskMapper.toAuditDiff(taskId, changes, true), username);
         
-        return modelMapper.map(updatedTask, TaskResponse.class);
+        TaskResponse response = taskMapper.toResponse(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(username, task.getUser().getId(), before, response));
+        return response;
     }
 
     @Override
     @Transactional
-    public void delete(Long taskId, String username) {
-        Task task = taskRepository.findById(taskId)
+    public void delete(Long taskId, String username, Long expectedVersion) {
+        Task task = taskRepository.findByIdAndUsername(taskId, username)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        checkVersion(task, expectedVersion);
         
-        if (!task.getUser().getUsername().equals(username)) {
-            throw new ResourceNotFoundException("Task not found for this user");
+        // The version predicate makes the delete fail if another writer got in after the read
+        if (taskRepository.deleteByIdAndUsernameAndVersion(taskId, username, task.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, taskId);
         }
         
         auditLogService.logAction("DELETE", "TASK", taskId, 
-            taskToString(task), null, username);
+            taskMapper.toAuditString(task), null, username);
         
-        taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(username, task.getUser().getId(),
+                taskMapper.toResponse(task)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getTaskListVersion(String username) {
+        List<Object[]> rows = taskRepository.fingerprintByUsername(username);
+        Object[] row = rows.isEmpty() ? new Object[4] : rows.get(0);
+        long maxUpdatedAt = row[2] == null ? 0L : ((Date) row[2]).getTime();
+        // Creates move max(id), deletes move count, updates move sum(version) and max(updatedAt)
+        return Long.toHexString(count(row[0])) + "-" + Long.toHexString(count(row[1])) + "-"
+                + Long.toHexString(maxUpdatedAt) + "-" + Long.toHexString(count(row[3]));
+    }
+
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task has been modified, expected version " + expectedVersion
+                    + " but found " + task.getVersion());
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponse> findTasksDueToday(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
         LocalDateTime endOfDay = now.toLocalDate().atTime(23, 59, 59);
+        Date from = Date.from(startOfDay.atZone(ZoneId.systemDefault()).toInstant());
+        Date to = Date.from(endOfDay.atZone(ZoneId.systemDefault()).toInstant());
         
-        return taskRepository.findByUserAndDueDateBetween(
-                user, 
-                Date.from(startOfDay.atZone(ZoneId.systemDefault()).toInstant()),
-                Date.from(endOfDay.atZone(ZoneId.systemDefault()).toInstant()),
-                Sort.by(Sort.Direction.ASC, "dueDate"))
-                .stream()
-                .map(task -> modelMapper.map(task, TaskResponse.class))
-                .collect(Collectors.toList());
+        UserDueDateIndex index = dueDateIndex(username);
+        if (index != null) {
+            return index.dueBetween(from.getTime(), to.getTime());
+        }
+        return taskRepository.findResponsesByUsernameAndDueDateBetween(username, from, to);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponse> findUpcomingTasks(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
         LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).toLocalDate().atStartOfDay();
+        Date after = Date.from(tomorrow.atZone(ZoneId.systemDefault()).toInstant());
         
-        return taskRepository.findByUserAndDueDateAfter(
-                user, 
-                Date.from(tomorrow.atZone(ZoneId.systemDefault()).toInstant()),
-                Sort.by(Sort.Direction.ASC, "dueDate"))
-                .stream()
-                .map(task -> modelMapper.map(task, TaskResponse.class))
-                .collect(Collectors.toList());
+        UserDueDateIndex index = dueDateIndex(username);
+        if (index != null) {
+            return index.dueAfter(after.getTime());
+        }
+        return taskRepository.findResponsesByUsernameAndDueDateAfter(username, after);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Object getTaskStats(String username) {
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public List<TaskResponse> findOverdueTasks(String username) {
+        Date startOfToday = startOf(LocalDate.now());
         
-        // Implementation to get task statistics
-        return null;
+        UserDueDateIndex index = dueDateIndex(username);
+        if (index != null) {
+            return index.openDueBefore(startOfToday.getTime());
+        }
+        return taskRepository.findOpenResponsesByUsernameAndDueDateBefore(username, startOfToday,
+                UserTaskStats.COMPLETED_STATUSES);
+    }
+
+    // Null when the near-cache is off or the user has too many tasks to hold in memory
+    private UserDueDateIndex dueDateIndex(String username) {
+        if (!taskDueDateCache.isEnabled()) {
+            return null;
+        }
+        UserDueDateIndex index = taskDueDateCache.get(username);
+        if (index != null) {
+            // Another request may still be streaming it in
+            return index.isLoaded() ? index : null;
+        }
+        // Registered before the first read, so changes committed after the snapshot still reach it
+        index = taskDueDateCache.startLoading(username);
+        try {
+            if (taskRepository.countByUsername(username) > taskDueDateCache.getMaxTasksPerUser()) {
+                taskDueDateCache.evict(username, index);
+                return null;
+            }
+            try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByUsername(username)) {
+                tasks.forEach(index::upsert);
+            }
+        } catch (RuntimeException e) {
+            taskDueDateCache.evict(username, index);
+            throw e;
+        }
+        taskDueDateCache.finishLoading(index);
+        return index;
     }
 
+    // Not transactional: each attempt reads in its own transaction, so a retry sees a fresh snapshot
     @Override
-    public byte[] exportTasks(String username, String format) {
-        // Implementation for exporting tasks
-        return new byte[0];
+    public TaskStatsResponse getTaskStats(String username) {
+        UserTaskStats stats = taskStatsCache.get(username);
+        TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int attempt = 1; stats == null; attempt++) {
+            boolean lastAttempt = attempt >= MAX_STATS_LOAD_ATTEMPTS;
+            stats = readTransaction.execute(status -> loadAndCacheTaskStats(username, lastAttempt));
+        }
+        return stats.toResponse();
     }
 
-    private String taskToString(Task task) {
-        return String.format("Task[id=%d, name='%s', status='%s', dueDate='%s']", 
-                task.getId(), task.getName(), task.getStatus(), task.getDueDate());
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResponse searchTasks(String username, String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long offset = (long) pageNumber * pageSize;
+        if (offset > MAX_SEARCH_OFFSET) {
+            throw new BadRequestException("Search results are limited to the first " + MAX_SEARCH_OFFSET + " matches");
+        }
+
+        UserTaskIndex index = taskSearchIndex.get(username);
+        if (index == null) {
+            index = loadSearchIndex(username);
+        } else if (!index.isLoaded()) {
+            // Another request is still filling the shared index; search a private copy rather than a partial one
+            index = new UserTaskIndex();
+            streamIntoIndex(username, index);
+            index.finishLoading();
+        }
+        UserTaskIndex.SearchResult result = index.search(query, (int) offset, pageSize);
+        return new TaskSearchResponse(result.getItems(), result.getTotal(), pageNumber, pageSize);
+    }
+
+    private UserTaskIndex loadSearchIndex(String username) {
+        UserTaskIndex index = taskSearchIndex.startLoading(username);
+        try {
+            streamIntoIndex(username, index);
+        } catch (RuntimeException e) {
+            taskSearchIndex.evict(username);
+            throw e;
+        }
+        index.finishLoading();
+        return index;
+    }
+
+    private void streamIntoIndex(String username, UserTaskIndex index) {
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByUsername(username)) {
+            tasks.forEach(index::upsert);
+        }
+    }
+
+    // Null when the snapshot raced a change and another attempt is allowed
+    private UserTaskStats loadAndCacheTaskStats(String username, boolean lastAttempt) {
+        TaskStatsCache.LoadTicket ticket = taskStatsCache.startLoading(username);
+        UserTaskStats loaded;
+        boolean consistent;
+        try {
+            // The two aggregates can straddle a commit under read committed; such a snapshot is not cached
+            String versionBefore = getTaskListVersion(username);
+            loaded = loadTaskStats(username);
+            consistent = versionBefore.equals(getTaskListVersion(username));
+        } catch (RuntimeException e) {
+            taskStatsCache.finishLoading(username, ticket, null);
+            throw e;
+        }
+        boolean cached = taskStatsCache.finishLoading(username, ticket, consistent ? loaded : null);
+        return cached || lastAttempt ? loaded : null;
+    }
+
+    private UserTaskStats loadTaskStats(String username) {
+        LocalDate today = LocalDate.now();
+        UserTaskStats stats = new UserTaskStats(today.toEpochDay());
+
+        for (Object[] row : taskRepository.aggregateByStatus(username, startOf(today),
+                startOf(today.plusDays(1)), startOf(today.plusDays(7)))) {
+            stats.addStatusCounts((String) row[0], count(row[1]), count(row[2]), count(row[3]), count(row[4]));
+        }
+        for (Object[] row : taskRepository.countByCategory(username)) {
+            stats.addCategoryCount((String) row[0], count(row[1]));
+        }
+        return stats;
+    }
+
+    private static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static long count(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(String username, ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByUsername(username)) {
+            switch (format) {
+                case XLSX:
+                    excelExporter.exportTasks(tasks, outputStream);
+                    break;
+                default:
+                    csvExporter.exportTasks(tasks, outputStream);
+            }
+        }
+    }
+
+    private String encodeCursor(long dueDateMillis, long id) {
+        String raw = dueDateMillis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new long[] {
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)) };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,97 @@
+package com.taskmang.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.taskmang.dto.response.TaskChangesResponse;
+import com.taskmang.dto.response.TaskResponse;
+import com.taskmang.entity.TaskTombstone;
+import com.taskmang.event.TaskChangedEvent;
+import com.taskmang.exception.BadRequestException;
+import com.taskmang.repository.TaskRepository;
+import com.taskmang.repository.TaskTombstoneRepository;
+import com.taskmang.service.TaskSyncService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class TaskSyncServiceImpl implements TaskSyncService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSyncServiceImpl.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+
+    @Value("${app.tasks.sync.tombstone-retention-ms:604800000}")
+    private long tombstoneRetentionMs;
+
+    // Timestamps are taken before commit, so a slow transaction can become visible after a
+    // later poll started; each token reaches back this far to pick such rows up again.
+    @Value("${app.tasks.sync.overlap-ms:5000}")
+    private long overlapMs;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(String username, String since) {
+        long now = System.currentTimeMillis();
+        String syncToken = encodeToken(now - overlapMs);
+
+        Long sinceMillis = since == null || since.isBlank() ? null : decodeToken(since);
+        if (sinceMillis == null || sinceMillis < now - tombstoneRetentionMs) {
+            // Unknown or expired token: deletes may have been purged, so the client must replace its copy
+            return new TaskChangesResponse(taskRepository.findResponsesByUsername(username),
+                    Collections.emptyList(), syncToken, true);
+        }
+
+        Date sinceDate = new Date(sinceMillis);
+        List<TaskResponse> changed = taskRepository.findResponsesByUsernameAndUpdatedAfter(username, sinceDate);
+        List<Long> deleted = tombstoneRepository.findTaskIdsDeletedSince(username, sinceDate);
+        return new TaskChangesResponse(changed, deleted, syncToken, false);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() != TaskChangedEvent.Type.DELETED || event.getUserId() == null) {
+            return;
+        }
+        tombstoneRepository.save(TaskTombstone.builder()
+                .taskId(event.getTaskId())
+                .userId(event.getUserId())
+                .deletedAt(new Date())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.sync.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(new Date(System.currentTimeMillis() - tombstoneRetentionMs));
+        if (purged > 0) {
+            logger.info("Purged {} task tombstones", purged);
+        }
+    }
+
+    private String encodeToken(long millis) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(millis).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeToken(String token) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+}
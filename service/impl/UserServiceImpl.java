@@ -1,17 +1,17 @@
 package com.taskmang.service.impl;
 
 
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.taskmang.cache.NodeCacheInvalidator;
 import com.taskmang.dto.request.SignupRequest;
 import com.taskmang.dto.response.UserResponse;
 import com.taskmang.entity.Role;
@@ -19,9 +19,11 @@ import com.taskmang.entity.User;
 import com.taskmang.enums.ERole;
 import com.taskmang.exception.BadRequestException;
 import com.taskmang.exception.ResourceNotFoundException;
-import com.taskmang.repository.RoleRepository;
+import com.taskmang.mapper.UserMapper;
 import com.taskmang.repository.UserRepository;
+import com.taskmang.security.RoleRegistry;
 import com.taskmang.service.AuditLogService;
+import com.taskmang.service.RefreshTokenService;
 import com.taskmang.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -30,10 +32,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
+    private final RoleRegistry roleRegistry;
+    private final UserMapper userMapper;
     private final AuditLogService auditLogService;
+    private final NodeCacheInvalidator nodeCacheInvalidator;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     @Transactional(readOnly = true)
@@ -41,6 +44,12 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByUsername(username);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findReferenceByUsername(String username) {
+        return userRepository.findIdByUsername(username).map(userRepository::getReferenceById);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
@@ -60,54 +69,45 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional
-    public UserResponse registerUser(SignupRequest signUpRequest) {
-        if (existsByUsername(signUpRequest.getUsername())) {
-            throw new BadRequestException("Username is already taken");
+    @Transactional(readOnly = true)
+    public void checkAvailable(String username, String email) {
+        List<Object[]> matches = userRepository.findUsernameOrEmailMatches(username, email);
+        for (Object[] match : matches) {
+            if (username.equals(match[0])) {
+                throw new BadRequestException("Username is already taken");
+            }
         }
-
-        if (existsByEmail(signUpRequest.getEmail())) {
+        if (!matches.isEmpty()) {
             throw new BadRequestException("Email is already in use");
         }
+    }
 
+    @Override
+    @Transactional
+    public UserResponse registerUser(SignupRequest signUpRequest, String passwordHash) {
         User user = new User();
         user.setUsername(signUpRequest.getUsername());
         user.setEmail(signUpRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
-
-        Set<Role> roles = new HashSet<>();
-        if (signUpRequest.getRoles() == null || signUpRequest.getRoles().isEmpty()) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
-            roles.add(userRole);
-        } else {
-            signUpRequest.getRoles().forEach(role -> {
-                switch (role) {
-                    case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
-                        roles.add(adminRole);
-                        break;
-                    default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
-                        roles.add(userRole);
-                }
-            });
+        user.setPassword(passwordHash);
+        user.setRoles(roleRegistry.resolve(signUpRequest.getRoles()));
+
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent signup for the same username or email
+            throw new BadRequestException("Username or email is already in use");
         }
 
-        user.setRoles(roles);
-        User savedUser = userRepository.save(user);
-
         auditLogService.logAction("CREATE", "USER", savedUser.getId(), null, 
             userToString(savedUser), "system");
 
-        return modelMapper.map(savedUser, UserResponse.class);
+        return userMapper.toResponse(savedUser);
     }
 
     @Override
     @Transactional
-    public UserResponse updateUser(Long userId, SignupRequest signUpRequest) {
+    public UserResponse updateUser(Long userId, SignupRequest signUpRequest, String passwordHash) {
         // Validate input
         if (signUpRequest == null) {
             throw new BadRequestException("User update request cannot be null");
@@ -119,7 +119,10 @@ public class UserServiceImpl implements UserService {
 
         // Track changes for audit log
         String oldUser = userToString(user);
+        String oldUsername = user.getUsername();
         boolean changesMade = false;
+        // Password or role changes must end existing sessions; profile-only edits must not
+        boolean credentialsChanged = false;
 
         // Update username if changed and available
         if (signUpRequest.getUsername() != null && !signUpRequest.getUsername().equals(user.getUsername())) {
@@ -139,42 +142,43 @@ public class UserServiceImpl implements UserService {
             changesMade = true;
         }
 
-        // Update password if provided
-        if (signUpRequest.getPassword() != null && !signUpRequest.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
+        // Update password if provided; the caller hashes it before the transaction starts
+        if (passwordHash != null) {
+            user.setPassword(passwordHash);
             changesMade = true;
+            credentialsChanged = true;
         }
 
         // Update roles if provided
         if (signUpRequest.getRoles() != null && !signUpRequest.getRoles().isEmpty()) {
-            Set<Role> roles = new HashSet<>();
-            signUpRequest.getRoles().forEach(role -> {
-                switch (role.toLowerCase()) { // Case-insensitive check
-                    case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new ResourceNotFoundException("Admin role not found"));
-                        roles.add(adminRole);
-                        break;
-                    default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new ResourceNotFoundException("User role not found"));
-                        roles.add(userRole);
-                }
-            });
-            user.setRoles(roles);
-            changesMade = true;
+            Set<Role> roles = roleRegistry.resolve(signUpRequest.getRoles());
+            if (!roleNames(roles).equals(roleNames(user.getRoles()))) {
+                user.setRoles(roles);
+                changesMade = true;
+                credentialsChanged = true;
+            }
         }
 
         // Only save and audit if changes were made
         if (changesMade) {
             User updatedUser = userRepository.save(user);
+            if (!oldUsername.equals(updatedUser.getUsername())) {
+                nodeCacheInvalidator.usernameReleased(oldUsername);
+            } else if (credentialsChanged) {
+                nodeCacheInvalidator.userRevoked(oldUsername);
+            } else {
+                nodeCacheInvalidator.userChanged(oldUsername);
+            }
+            if (credentialsChanged || !oldUsername.equals(updatedUser.getUsername())) {
+                refreshTokenService.revokeAllForUser(userId);
+            }
             auditLogService.logAction("UPDATE", "USER", userId, oldUser, 
                 userToString(updatedUser), "system");
-            return modelMapper.map(updatedUser, UserResponse.class);
+            return userMapper.toResponse(updatedUser);
         }
 
         // Return existing user if no changes
-        return modelMapper.map(user, UserResponse.class);
+        return userMapper.toResponse(user);
     }
 
     @Override
@@ -186,7 +190,9 @@ public class UserServiceImpl implements UserService {
         auditLogService.logAction("DELETE", "USER", userId, 
             userToString(user), null, "system");
 
+        refreshTokenService.deleteAllForUser(userId);
         userRepository.delete(user);
+        nodeCacheInvalidator.usernameReleased(user.getUsername());
     }
 
     @Override
@@ -198,6 +204,8 @@ public class UserServiceImpl implements UserService {
         String oldUser = userToString(user);
         user.setActive(false);
         User updatedUser = userRepository.save(user);
+        nodeCacheInvalidator.userRevoked(user.getUsername());
+        refreshTokenService.revokeAllForUser(userId);
 
         auditLogService.logAction("DEACTIVATE", "USER", userId, 
             oldUser, userToString(updatedUser), "system");
@@ -212,6 +220,7 @@ public class UserServiceImpl implements UserService {
         String oldUser = userToString(user);
         user.setActive(true);
         User updatedUser = userRepository.save(user);
+        nodeCacheInvalidator.userChanged(user.getUsername());
 
         auditLogService.logAction("ACTIVATE", "USER", userId, 
             oldUser, userToString(updatedUser), "system");
@@ -220,11 +229,15 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> modelMapper.map(user, UserResponse.class))
+        return userRepository.findAllBy().stream()
+                .map(userMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    private static Set<ERole> roleNames(Set<Role> roles) {
+        return roles.stream().map(Role::getName).collect(Collectors.toCollection(() -> EnumSet.noneOf(ERole.class)));
+    }
+
     private String userToString(User user) {
         return String.format("User[id=%d, username='%s', email='%s', active=%b]", 
                 user.getId(), user.getUsername(), user.getEmail(), user.getActive());
@@ -0,0 +1,81 @@
+package com.taskmang.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.taskmang.dto.response.TaskResponse;
+
+@Component
+public class CsvExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] COLUMNS = {"ID", "Name", "Description", "Category", "Due Date", "Status"};
+
+    public void exportTasks(Stream<TaskResponse> tasks, OutputStream outputStream) throws IOException {
+        // Rows go straight from the cursor into a fixed-size buffer; nothing accumulates on the heap
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(COLUMNS[i]);
+        }
+        writer.write("\r\n");
+
+        Iterator<TaskResponse> it = tasks.iterator();
+        while (it.hasNext()) {
+            TaskResponse task = it.next();
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writeField(writer, task.getName());
+            writer.write(',');
+            writeField(writer, task.getDescription());
+            writer.write(',');
+            writeField(writer, task.getCategory());
+            writer.write(',');
+            writeField(writer, formatDate(task.getDueDate()));
+            writer.write(',');
+            writeField(writer, task.getStatus());
+            writer.write("\r\n");
+        }
+
+        writer.flush();
+    }
+
+    private static String formatDate(Date date) {
+        return date == null ? null : date.toInstant().toString();
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmang.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class CsvRowReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Single-pass RFC 4180 reader: only the current row is ever held in memory
+    public void read(InputStream inputStream, RowHandler handler) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        List<String> cells = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean rowHasContent = false;
+        int rowNumber = 1;
+
+        int c = reader.read();
+        if (c == '\uFEFF') {
+            c = reader.read();
+        }
+        while (c != -1) {
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+                rowHasContent = true;
+            } else if (ch == ',') {
+                cells.add(field.toString());
+                field.setLength(0);
+                rowHasContent = true;
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    int next = reader.read();
+                    if (next != '\n') {
+                        c = next;
+                        rowNumber = emitRow(handler, rowNumber, cells, field, rowHasContent);
+                        rowHasContent = false;
+                        continue;
+                    }
+                }
+                rowNumber = emitRow(handler, rowNumber, cells, field, rowHasContent);
+                rowHasContent = false;
+            } else {
+                field.append(ch);
+                rowHasContent = true;
+            }
+            c = reader.read();
+        }
+        emitRow(handler, rowNumber, cells, field, rowHasContent || field.length() > 0);
+    }
+
+    private static int emitRow(RowHandler handler, int rowNumber, List<String> cells, StringBuilder field,
+                               boolean rowHasContent) {
+        if (rowHasContent) {
+            cells.add(field.toString());
+            handler.onRow(rowNumber, new ArrayList<>(cells));
+        }
+        cells.clear();
+        field.setLength(0);
+        return rowNumber + 1;
+    }
+}
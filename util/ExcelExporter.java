@@ -2,50 +2,64 @@ package com.taskmang.util;
 
 
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Component;
 
 import com.taskmang.dto.response.TaskResponse;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Component
 public class ExcelExporter {
-    public byte[] exportTasks(List<TaskResponse> tasks) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook(); 
-             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            
+    // Rows kept in memory before SXSSF flushes them to its temp file
+    private static final int ROW_WINDOW = 100;
+    private static final String[] COLUMNS = {"ID", "Name", "Description", "Category", "Due Date", "Status"};
+    private static final int[] COLUMN_WIDTHS = {10, 30, 50, 20, 20, 15};
+    public static final String DATE_FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    public void exportTasks(Stream<TaskResponse> tasks, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet("Tasks");
-            
-            // Header row
+
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(DATE_FORMAT));
+
+            // Header row; widths are fixed because autoSizeColumn has to scan every row
             Row headerRow = sheet.createRow(0);
-            String[] columns = {"ID", "Name", "Description", "Category", "Due Date", "Status"};
-            for (int i = 0; i < columns.length; i++) {
+            for (int i = 0; i < COLUMNS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(columns[i]);
+                cell.setCellValue(COLUMNS[i]);
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
             }
-            
+
             // Data rows
             int rowNum = 1;
-            for (TaskResponse task : tasks) {
+            Iterator<TaskResponse> it = tasks.iterator();
+            while (it.hasNext()) {
+                TaskResponse task = it.next();
                 Row row = sheet.createRow(rowNum++);
                 row.createCell(0).setCellValue(task.getId());
                 row.createCell(1).setCellValue(task.getName());
                 row.createCell(2).setCellValue(task.getDescription());
                 row.createCell(3).setCellValue(task.getCategory());
-                row.createCell(4).setCellValue(task.getDueDate().toString());
+                if (task.getDueDate() != null) {
+                    Cell dueDate = row.createCell(4);
+                    dueDate.setCellValue(task.getDueDate());
+                    dueDate.setCellStyle(dateStyle);
+                }
                 row.createCell(5).setCellValue(task.getStatus());
             }
-            
-            // Auto-size columns
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            workbook.write(out);
-            return out.toByteArray();
+
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            workbook.close();
+            workbook.dispose();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package com.taskmang.util;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface RowHandler {
+    void onRow(int rowNumber, List<String> cells);
+}